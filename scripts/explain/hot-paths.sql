@@ -0,0 +1,63 @@
+-- SQL equivalente al que genera Hibernate para las consultas calientes de
+-- IReservationRepository / IReservationServiceRepository (forma con solo los filtros presentes)
+SET search_path TO reservations_explain;
+
+\echo '### Reservaciones de un carer (listado y slice)'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT r.id, r.owner_id, r.carer_id, r.service_date, r.state, r.created_at, r.updated_at, r.active
+FROM reservation r
+WHERE r.active = true AND r.carer_id = 42
+ORDER BY r.service_date DESC
+LIMIT 21;
+
+\echo '### Reservaciones de un owner en un rango de fechas, página por keyset'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT r.id, r.owner_id, r.carer_id, r.service_date, r.state, r.created_at, r.updated_at, r.active
+FROM reservation r
+WHERE r.active = true AND r.owner_id = 4242
+  AND r.service_date >= now() - interval '1 year' AND r.service_date <= now() + interval '1 year'
+  AND (r.service_date < now() OR (r.service_date = now() AND r.id < 1000000))
+ORDER BY r.service_date DESC, r.id DESC
+LIMIT 20;
+
+\echo '### Total de reservaciones de un owner (COUNT cacheado)'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT COUNT(r.id) FROM reservation r
+WHERE r.active = true AND r.owner_id = 4242;
+
+\echo '### Reservaciones por estado'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT r.id, r.owner_id, r.carer_id, r.service_date, r.state, r.created_at, r.updated_at, r.active
+FROM reservation r
+WHERE r.active = true AND r.state = 'PENDING'
+ORDER BY r.service_date DESC
+LIMIT 21;
+
+\echo '### Solapamiento de un carer (existsActiveReservationForCarerInDateRange)'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT CASE WHEN COUNT(r.id) > 0 THEN true ELSE false END
+FROM reservation r
+WHERE r.carer_id = 42 AND r.active = true
+  AND r.state IN ('PENDING', 'ACCEPTED')
+  AND r.service_date BETWEEN now() AND now() + interval '2 hours';
+
+\echo '### Servicios de una reservación'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT rs.id, rs.reservation_id, rs.service_id, rs.created_at, rs.updated_at, rs.active
+FROM reservation_service rs
+WHERE rs.reservation_id = 4242 AND rs.active = true;
+
+\echo '### Relación duplicada (existsByReservationIdAndServiceIdAndActiveTrue)'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT CASE WHEN COUNT(rs.id) > 0 THEN true ELSE false END
+FROM reservation_service rs
+WHERE rs.reservation_id = 4242 AND rs.service_id = 7 AND rs.active = true;
+
+\echo '### Reconciliación de cache: lote por keyset (updated_at, id)'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT r.id, r.owner_id, r.carer_id, r.service_date, r.state, r.created_at, r.updated_at, r.active
+FROM reservation r
+WHERE r.updated_at >= now() - interval '1 day'
+  AND (r.updated_at > now() - interval '1 day' OR (r.updated_at = now() - interval '1 day' AND r.id > 1000))
+ORDER BY r.updated_at, r.id
+LIMIT 200;
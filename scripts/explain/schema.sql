@@ -0,0 +1,42 @@
+-- Tablas mínimas con las columnas que usan las consultas del servicio y datos sintéticos.
+-- Distribución: 5 000 owners, 500 carers, 5 estados, fechas en +-2 años, ~90 % activas.
+DROP SCHEMA IF EXISTS reservations_explain CASCADE;
+CREATE SCHEMA reservations_explain;
+SET search_path TO reservations_explain;
+
+CREATE TABLE reservation (
+    id           BIGSERIAL PRIMARY KEY,
+    owner_id     BIGINT       NOT NULL,
+    carer_id     BIGINT       NOT NULL,
+    service_date TIMESTAMP    NOT NULL,
+    state        VARCHAR(20)  NOT NULL,
+    created_at   TIMESTAMP    NOT NULL,
+    updated_at   TIMESTAMP,
+    active       BOOLEAN      NOT NULL
+);
+
+CREATE TABLE reservation_service (
+    id             BIGSERIAL PRIMARY KEY,
+    reservation_id BIGINT    NOT NULL,
+    service_id     BIGINT    NOT NULL,
+    created_at     TIMESTAMP NOT NULL,
+    updated_at     TIMESTAMP,
+    active         BOOLEAN   NOT NULL
+);
+
+INSERT INTO reservation (owner_id, carer_id, service_date, state, created_at, updated_at, active)
+SELECT 1 + (random() * 4999)::int,
+       1 + (random() * 499)::int,
+       now() - interval '2 years' + random() * interval '4 years',
+       (ARRAY['PENDING', 'ACCEPTED', 'REJECTED', 'FINISHED', 'PAID'])[1 + (random() * 4)::int],
+       now() - random() * interval '2 years',
+       now() - random() * interval '1 year',
+       random() < 0.9
+FROM generate_series(1, :rows);
+
+INSERT INTO reservation_service (reservation_id, service_id, created_at, updated_at, active)
+SELECT r.id, 1 + (random() * 49)::int, r.created_at, r.updated_at, r.active
+FROM reservation r, generate_series(1, 2);
+
+ANALYZE reservation;
+ANALYZE reservation_service;
@@ -10,12 +10,14 @@ import org.springframework.boot.web.servlet.support.SpringBootServletInitializer
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 //(exclude = {SecurityAutoConfiguration.class})
 
 @SpringBootApplication
 @EntityScan(basePackages = "org.example.cuidadodemascota.commons.entities")
 @EnableCaching
 @EnableDiscoveryClient
+@EnableScheduling
 public class MicroserviceApplication extends SpringBootServletInitializer {
 	public static void main(String[] args) {
 
@@ -0,0 +1,345 @@
+package com.cuidadodemascotas.microservice.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.util.ByteUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lectura, escritura y borrado en bloque de entradas de cache directamente sobre Redis.
+ * Una página completa se escribe en un único pipeline (SET con TTL por clave) y se lee con un
+ * único MGET, usando la misma configuración de prefijo, serializador y TTL que la cache de
+ * Spring correspondiente. En las caches versionadas las escrituras y borrados usan los mismos
+ * scripts compare-and-set que {@link VersionedCache}.
+ */
+@Slf4j
+@Component
+public class BulkCacheOperations {
+
+    private final RedisCacheManager redisCacheManager;
+    private final StringRedisTemplate redisTemplate;
+    private final TaskExecutor cacheWriteExecutor;
+    private final ObjectProvider<NearCacheInvalidationBus> invalidationBus;
+    private final MeterRegistry meterRegistry;
+    private final RedisCircuitBreaker circuitBreaker;
+    private final VersionedCacheWrites versionedWrites;
+
+    public BulkCacheOperations(RedisCacheManager redisCacheManager,
+                               StringRedisTemplate redisTemplate,
+                               @Qualifier("cacheWriteExecutor") TaskExecutor cacheWriteExecutor,
+                               ObjectProvider<NearCacheInvalidationBus> invalidationBus,
+                               MeterRegistry meterRegistry,
+                               RedisCircuitBreaker circuitBreaker,
+                               VersionedCacheWrites versionedWrites) {
+        this.redisCacheManager = redisCacheManager;
+        this.redisTemplate = redisTemplate;
+        this.cacheWriteExecutor = cacheWriteExecutor;
+        this.invalidationBus = invalidationBus;
+        this.meterRegistry = meterRegistry;
+        this.circuitBreaker = circuitBreaker;
+        this.versionedWrites = versionedWrites;
+        // Si se perdieron invalidaciones con Redis caído, se vacían las caches al recuperarse
+        circuitBreaker.onDeferredOverflow(() -> redisCacheManager.getCacheNames().forEach(this::clearAll));
+    }
+
+    /**
+     * Encola la escritura en bloque fuera del hilo de la petición
+     */
+    public void putAllAsync(String cacheName, Map<String, ?> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        // Copia defensiva: el llamador puede seguir usando su mapa
+        Map<String, Object> snapshot = new LinkedHashMap<>(entries);
+        cacheWriteExecutor.execute(() -> putAll(cacheName, snapshot));
+    }
+
+    /**
+     * Escritura en bloque tras el commit de la transacción en curso (o inmediata si no hay),
+     * fuera del hilo de la petición
+     */
+    public void putAllAfterCommit(String cacheName, Map<String, ?> entries) {
+        Map<String, Object> snapshot = new LinkedHashMap<>(entries);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    putAllAsync(cacheName, snapshot);
+                }
+            });
+        } else {
+            putAllAsync(cacheName, snapshot);
+        }
+    }
+
+    /**
+     * Escribe todas las entradas en un solo pipeline. Los errores se registran y no se propagan:
+     * la cache es un acelerador, nunca debe romper la respuesta. Si la escritura se omite o falla,
+     * las claves quedan pendientes de desalojo para no servir la versión anterior al recuperarse.
+     */
+    public void putAll(String cacheName, Map<String, ?> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        if (!circuitBreaker.allowRequest()) {
+            deferEvictions(cacheName, entries.keySet(), false);
+            return;
+        }
+
+        RedisCacheConfiguration config = cacheConfiguration(cacheName);
+        NearCacheInvalidationBus bus = invalidationBus.getIfAvailable();
+        byte[] channel = NearCacheInvalidationBus.CHANNEL.getBytes(StandardCharsets.UTF_8);
+        boolean versioned = versionedWrites.isVersioned(cacheName);
+        long start = System.nanoTime();
+
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                entries.forEach((key, value) -> {
+                    if (value == null) {
+                        return;
+                    }
+                    byte[] rawKey = serializeKey(config, cacheName, key);
+                    byte[] rawValue = ByteUtils.getBytes(config.getValueSerializationPair().write(value));
+                    Duration ttl = config.getTtlFunction().getTimeToLive(key, value);
+
+                    Long version = versioned ? VersionedCacheWrites.versionOf(value) : null;
+                    if (version != null) {
+                        versionedWrites.put(connection, rawKey, rawValue, version, ttl);
+                    } else {
+                        connection.stringCommands().set(rawKey, rawValue,
+                                ttl.isZero() || ttl.isNegative() ? Expiration.persistent() : Expiration.from(ttl),
+                                RedisStringCommands.SetOption.upsert());
+                    }
+
+                    if (bus != null) {
+                        bus.invalidateLocally(cacheName, key);
+                        connection.publish(channel, bus.message(cacheName, key).getBytes(StandardCharsets.UTF_8));
+                    }
+                });
+                return null;
+            });
+            log.info("{} entradas escritas en bloque en la cache {} ({} ms)",
+                    entries.size(), cacheName, (System.nanoTime() - start) / 1_000_000);
+            counter("reservations.cache.puts", cacheName).increment(entries.size());
+            circuitBreaker.onSuccess();
+        } catch (Exception e) {
+            log.warn("No se pudo escribir en bloque en la cache {}: {}", cacheName, e.getMessage());
+            circuitBreaker.onFailure(e);
+            deferEvictions(cacheName, entries.keySet(), false);
+            error(cacheName, "bulk_put");
+        } finally {
+            latency(cacheName, "bulk_put", start);
+        }
+    }
+
+    /**
+     * Elimina varias claves en un solo pipeline (DEL por clave), descartando también sus copias L1.
+     * Si Redis no está disponible, las claves quedan pendientes hasta que se recupere.
+     */
+    public void evictAll(String cacheName, Collection<String> keys) {
+        evictAll(cacheName, keys, false);
+    }
+
+    /**
+     * Como {@link #evictAll}, para entradas de filas borradas: en las caches versionadas la lápida
+     * lleva el reloj de la instancia (ver {@link VersionedCacheWrites#evictDeleted(String)}), así
+     * que una lectura lenta anterior al delete no vuelve a cachear la fila.
+     */
+    public void evictAllDeleted(String cacheName, Collection<String> keys) {
+        evictAll(cacheName, keys, true);
+    }
+
+    private void evictAll(String cacheName, Collection<String> keys, boolean deleted) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        if (!circuitBreaker.allowRequest()) {
+            deferEvictions(cacheName, keys, deleted);
+            return;
+        }
+
+        RedisCacheConfiguration config = cacheConfiguration(cacheName);
+        NearCacheInvalidationBus bus = invalidationBus.getIfAvailable();
+        byte[] channel = NearCacheInvalidationBus.CHANNEL.getBytes(StandardCharsets.UTF_8);
+        long start = System.nanoTime();
+
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (String key : keys) {
+                    delete(connection, cacheName, serializeKey(config, cacheName, key), deleted);
+                    if (bus != null) {
+                        bus.invalidateLocally(cacheName, key);
+                        connection.publish(channel, bus.message(cacheName, key).getBytes(StandardCharsets.UTF_8));
+                    }
+                }
+                return null;
+            });
+            log.debug("{} entradas eliminadas en bloque de la cache {}", keys.size(), cacheName);
+            counter("reservations.cache.evictions", cacheName).increment(keys.size());
+            circuitBreaker.onSuccess();
+        } catch (Exception e) {
+            log.warn("No se pudo eliminar en bloque de la cache {}: {}", cacheName, e.getMessage());
+            circuitBreaker.onFailure(e);
+            deferEvictions(cacheName, keys, deleted);
+            error(cacheName, "bulk_evict");
+        } finally {
+            latency(cacheName, "bulk_evict", start);
+        }
+    }
+
+    /**
+     * Lee varias claves con un único MGET. Devuelve solo las claves encontradas; ante un error
+     * de Redis devuelve un mapa vacío y el llamador trata todo como miss.
+     */
+    public Map<String, Object> getAll(String cacheName, List<String> keys) {
+        Map<String, Object> found = new LinkedHashMap<>();
+        if (keys.isEmpty() || !circuitBreaker.allowRequest()) {
+            return found;
+        }
+
+        RedisCacheConfiguration config = cacheConfiguration(cacheName);
+        byte[][] rawKeys = keys.stream()
+                .map(key -> serializeKey(config, cacheName, key))
+                .toArray(byte[][]::new);
+        long start = System.nanoTime();
+
+        try {
+            List<byte[]> rawValues = redisTemplate.execute(
+                    (RedisCallback<List<byte[]>>) connection -> connection.stringCommands().mGet(rawKeys));
+            if (rawValues == null) {
+                return found;
+            }
+            for (int i = 0; i < keys.size(); i++) {
+                byte[] rawValue = rawValues.get(i);
+                if (rawValue != null) {
+                    found.put(keys.get(i), config.getValueSerializationPair().read(ByteBuffer.wrap(rawValue)));
+                }
+            }
+            circuitBreaker.onSuccess();
+        } catch (Exception e) {
+            log.warn("No se pudo leer en bloque de la cache {}: {}", cacheName, e.getMessage());
+            circuitBreaker.onFailure(e);
+            error(cacheName, "bulk_get");
+            found.clear();
+        } finally {
+            latency(cacheName, "bulk_get", start);
+        }
+
+        // Mismas métricas que InstrumentedCache, para que el ratio de aciertos incluya las lecturas en bloque
+        Counter.builder("reservations.cache.gets").tag("cache", cacheName).tag("result", "hit")
+                .register(meterRegistry).increment(found.size());
+        Counter.builder("reservations.cache.gets").tag("cache", cacheName).tag("result", "miss")
+                .register(meterRegistry).increment(keys.size() - found.size());
+        return found;
+    }
+
+    private void deferEvictions(String cacheName, Collection<String> keys, boolean deleted) {
+        RedisCacheConfiguration config = cacheConfiguration(cacheName);
+        for (String key : keys) {
+            circuitBreaker.defer("evict::" + cacheName + "::" + key, () -> {
+                byte[] rawKey = serializeKey(config, cacheName, key);
+                redisTemplate.execute((RedisCallback<Object>) connection -> {
+                    delete(connection, cacheName, rawKey, deleted);
+                    return null;
+                });
+            });
+        }
+    }
+
+    /**
+     * DEL, o desalojo con lápida en las caches versionadas (con el reloj si la fila se borró)
+     */
+    private void delete(RedisConnection connection, String cacheName, byte[] rawKey, boolean deleted) {
+        if (!versionedWrites.isVersioned(cacheName)) {
+            connection.keyCommands().del(rawKey);
+        } else if (deleted) {
+            versionedWrites.evictDeleted(connection, rawKey);
+        } else {
+            versionedWrites.evict(connection, rawKey);
+        }
+    }
+
+    /**
+     * Vacía una cache recorriendo sus claves con SCAN (sin KEYS) y borrándolas por lotes con UNLINK
+     */
+    private void clearAll(String cacheName) {
+        RedisCacheConfiguration config = cacheConfiguration(cacheName);
+        String pattern = config.getKeyPrefixFor(cacheName) + "*";
+        ScanOptions options = ScanOptions.scanOptions().match(pattern).count(1000).build();
+
+        redisTemplate.execute((RedisCallback<Void>) connection -> {
+            List<byte[]> batch = new ArrayList<>(500);
+            try (Cursor<byte[]> cursor = connection.keyCommands().scan(options)) {
+                while (cursor.hasNext()) {
+                    batch.add(cursor.next());
+                    if (batch.size() == 500) {
+                        connection.keyCommands().unlink(batch.toArray(byte[][]::new));
+                        batch.clear();
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                connection.keyCommands().unlink(batch.toArray(byte[][]::new));
+            }
+            return null;
+        });
+        log.info("Cache {} vaciada tras la recuperación de Redis", cacheName);
+    }
+
+    private Counter counter(String name, String cacheName) {
+        return Counter.builder(name).tag("cache", cacheName).register(meterRegistry);
+    }
+
+    private void error(String cacheName, String operation) {
+        Counter.builder("reservations.cache.errors").tag("cache", cacheName).tag("operation", operation)
+                .register(meterRegistry).increment();
+    }
+
+    private void latency(String cacheName, String operation, long startNanos) {
+        Timer.builder("reservations.cache.latency").tag("cache", cacheName).tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Configuración efectiva (prefijo, serializadores, TTL) de una cache de Redis
+     */
+    public RedisCacheConfiguration cacheConfiguration(String cacheName) {
+        return ((RedisCache) redisCacheManager.getCache(cacheName)).getCacheConfiguration();
+    }
+
+    /**
+     * Clave Redis completa tal como la compone RedisCache (prefijo + clave)
+     */
+    public byte[] serializeKey(RedisCacheConfiguration config, String cacheName, String key) {
+        String fullKey = config.usePrefix() ? config.getKeyPrefixFor(cacheName) + key : key;
+        return ByteUtils.getBytes(config.getKeySerializationPair().write(fullKey));
+    }
+}
@@ -0,0 +1,294 @@
+package com.cuidadodemascotas.microservice.cache;
+
+import com.cuidadodemascotas.microservice.repository.IReservationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Endpoint de administración de las caches de reservaciones (/actuator/reservationcaches),
+ * restringido a ROLE_ADMIN en SecurityConfig.
+ *
+ *   GET    /reservationcaches                 claves y memoria estimada por cache
+ *   GET    /reservationcaches/{cache}/{key}   valor y TTL de una entrada
+ *   DELETE /reservationcaches/{cache}/{key}   desaloja una entrada
+ *   POST   /reservationcaches/{action}        evict-reservation | evict-owner | evict-carer (body: id)
+ *                                             rewarm (body: cache, limit)
+ *
+ * Los recorridos usan SCAN incremental y lotes con pausa; nunca KEYS ni borrados masivos.
+ */
+@Slf4j
+@Component
+@Endpoint(id = "reservationcaches")
+public class CacheAdminEndpoint {
+
+    private final RedisCacheManager redisCacheManager;
+    private final StringRedisTemplate redisTemplate;
+    private final BulkCacheOperations bulkCacheOperations;
+    private final CacheTagIndex cacheTagIndex;
+    private final CacheGenerations cacheGenerations;
+    private final NotFoundCache notFoundCache;
+    private final CacheWarmer cacheWarmer;
+    private final IReservationRepository reservationRepository;
+
+    private final int scanCount;
+    private final int memorySampleSize;
+    private final int batchSize;
+    private final Duration batchPause;
+
+    public CacheAdminEndpoint(RedisCacheManager redisCacheManager,
+                              StringRedisTemplate redisTemplate,
+                              BulkCacheOperations bulkCacheOperations,
+                              CacheTagIndex cacheTagIndex,
+                              CacheGenerations cacheGenerations,
+                              NotFoundCache notFoundCache,
+                              CacheWarmer cacheWarmer,
+                              IReservationRepository reservationRepository,
+                              @Value("${cache.admin.scan-count:1000}") int scanCount,
+                              @Value("${cache.admin.memory-sample-size:50}") int memorySampleSize,
+                              @Value("${cache.admin.batch-size:500}") int batchSize,
+                              @Value("${cache.admin.batch-pause:PT0.05S}") Duration batchPause) {
+        this.redisCacheManager = redisCacheManager;
+        this.redisTemplate = redisTemplate;
+        this.bulkCacheOperations = bulkCacheOperations;
+        this.cacheTagIndex = cacheTagIndex;
+        this.cacheGenerations = cacheGenerations;
+        this.notFoundCache = notFoundCache;
+        this.cacheWarmer = cacheWarmer;
+        this.reservationRepository = reservationRepository;
+        this.scanCount = scanCount;
+        this.memorySampleSize = memorySampleSize;
+        this.batchSize = batchSize;
+        this.batchPause = batchPause;
+    }
+
+    public record CacheStats(String cache, long entries, long versionKeys, long responseBodies, long estimatedBytes) {
+    }
+
+    /**
+     * Número de claves por cache (SCAN por prefijo) y memoria estimada a partir de una muestra
+     * de MEMORY USAGE
+     */
+    @ReadOperation
+    public List<CacheStats> caches() {
+        List<CacheStats> stats = new ArrayList<>();
+        for (String cacheName : redisCacheManager.getCacheNames()) {
+            RedisCacheConfiguration config = bulkCacheOperations.cacheConfiguration(cacheName);
+            ScanOptions options = ScanOptions.scanOptions()
+                    .match(config.getKeyPrefixFor(cacheName) + "*").count(scanCount).build();
+
+            long entries = 0;
+            long versionKeys = 0;
+            long responseBodies = 0;
+            List<String> sample = new ArrayList<>(memorySampleSize);
+            try (Cursor<String> cursor = redisTemplate.scan(options)) {
+                while (cursor.hasNext()) {
+                    String key = cursor.next();
+                    if (key.endsWith(VersionedCacheWrites.VERSION_SUFFIX)) {
+                        versionKeys++;
+                    } else if (key.endsWith(VersionedCacheWrites.RESPONSE_SUFFIX)) {
+                        responseBodies++;
+                    } else {
+                        entries++;
+                    }
+                    if (sample.size() < memorySampleSize) {
+                        sample.add(key);
+                    }
+                }
+            }
+            stats.add(new CacheStats(cacheName, entries, versionKeys, responseBodies,
+                    estimateBytes(sample, entries + versionKeys + responseBodies)));
+        }
+        return stats;
+    }
+
+    /**
+     * Valor deserializado y TTL restante de una entrada; 404 si no existe
+     */
+    @ReadOperation
+    public Map<String, Object> entry(@Selector String cache, @Selector String key) {
+        requireCache(cache);
+        RedisCacheConfiguration config = bulkCacheOperations.cacheConfiguration(cache);
+        byte[] rawKey = bulkCacheOperations.serializeKey(config, cache, key);
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.stringCommands().get(rawKey);
+            connection.keyCommands().pTtl(rawKey);
+            return null;
+        }, RedisSerializer.byteArray());
+        if (!(results.get(0) instanceof byte[] rawValue)) {
+            return null;
+        }
+
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("cache", cache);
+        entry.put("key", key);
+        entry.put("ttlMillis", results.get(1));
+        entry.put("sizeBytes", rawValue.length);
+        entry.put("value", config.getValueSerializationPair().read(ByteBuffer.wrap(rawValue)));
+        return entry;
+    }
+
+    /**
+     * Desaloja una entrada (Redis y copias L1)
+     */
+    @DeleteOperation
+    public Map<String, Object> evict(@Selector String cache, @Selector String key) {
+        requireCache(cache);
+        bulkCacheOperations.evictAll(cache, List.of(key));
+        log.info("Administración: desalojada la entrada {}::{}", cache, key);
+        return Map.of("cache", cache, "evicted", List.of(key));
+    }
+
+    /**
+     * Desalojos por entidad y recalentamiento manual
+     */
+    @WriteOperation
+    public Map<String, Object> execute(@Selector String action, @Nullable Long id,
+                                       @Nullable String cache, @Nullable Integer limit) {
+        return switch (action) {
+            case "evict-reservation" -> {
+                requireId(action, id);
+                evictReservations(List.of(id));
+                notFoundCache.forget("reservations", id);
+                cacheGenerations.bumpAfterCommit(List.of(CacheGenerations.ALL));
+                yield Map.of("action", action, "reservations", 1);
+            }
+            case "evict-owner" -> {
+                requireId(action, id);
+                long evicted = evictByKeyset(id, reservationRepository::findIdsByOwnerAfter);
+                cacheGenerations.bumpAfterCommit(List.of(CacheGenerations.ownerScope(id)));
+                yield Map.of("action", action, "ownerId", id, "reservations", evicted);
+            }
+            case "evict-carer" -> {
+                requireId(action, id);
+                long evicted = evictByKeyset(id, reservationRepository::findIdsByCarerAfter);
+                cacheGenerations.bumpAfterCommit(List.of(CacheGenerations.carerScope(id)));
+                yield Map.of("action", action, "carerId", id, "reservations", evicted);
+            }
+            case "rewarm" -> {
+                if (!"reservations".equals(cache) && !"reservation_services".equals(cache)) {
+                    throw new InvalidEndpointRequestException("Solo se pueden recalentar las caches reservations y reservation_services", "Parámetros no válidos");
+                }
+                boolean started = cacheWarmer.rewarm(cache, limit != null ? limit : Integer.MAX_VALUE);
+                yield Map.of("action", action, "cache", cache, "started", started);
+            }
+            default -> throw new InvalidEndpointRequestException("Acción desconocida: " + action, "Parámetros no válidos");
+        };
+    }
+
+    /**
+     * Recorre por keyset los IDs de reservación de un owner o carer y los desaloja por lotes,
+     * con una pausa entre lotes para no saturar Redis
+     */
+    private long evictByKeyset(Long userId, IdsAfter idsAfter) {
+        long evicted = 0;
+        long afterId = 0L;
+        while (true) {
+            List<Long> ids = idsAfter.apply(userId, afterId, PageRequest.of(0, batchSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            evictReservations(ids);
+            evicted += ids.size();
+            afterId = ids.get(ids.size() - 1);
+            if (ids.size() < batchSize) {
+                break;
+            }
+            pause();
+        }
+        log.info("Administración: desalojadas {} reservaciones del usuario {}", evicted, userId);
+        return evicted;
+    }
+
+    /**
+     * byId_ de cada reservación, su lista byReservation_ y los servicios etiquetados con ella
+     */
+    private void evictReservations(List<Long> ids) {
+        List<String> reservationKeys = new ArrayList<>(ids.size());
+        List<String> listKeys = new ArrayList<>(ids.size());
+        List<String> tags = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            reservationKeys.add("byId_" + id);
+            listKeys.add("byReservation_" + id);
+            tags.add(CacheTagIndex.reservationTag(id));
+        }
+        bulkCacheOperations.evictAll("reservations", reservationKeys);
+        cacheTagIndex.evictAfterCommit("reservation_services", listKeys, tags);
+    }
+
+    /**
+     * Extrapola la memoria media de la muestra al total de claves (pipeline de MEMORY USAGE)
+     */
+    private long estimateBytes(List<String> sample, long totalKeys) {
+        if (sample.isEmpty()) {
+            return 0;
+        }
+        byte[] usage = "USAGE".getBytes(StandardCharsets.UTF_8);
+        List<Object> sizes = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String key : sample) {
+                connection.execute("MEMORY", usage, key.getBytes(StandardCharsets.UTF_8));
+            }
+            return null;
+        });
+        long sampled = 0;
+        int measured = 0;
+        for (Object size : sizes) {
+            if (size instanceof Number bytes) {
+                sampled += bytes.longValue();
+                measured++;
+            }
+        }
+        return measured == 0 ? 0 : sampled * totalKeys / measured;
+    }
+
+    private void pause() {
+        if (!batchPause.isPositive()) {
+            return;
+        }
+        try {
+            Thread.sleep(batchPause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void requireCache(String cache) {
+        if (!redisCacheManager.getCacheNames().contains(cache)) {
+            throw new InvalidEndpointRequestException("Cache desconocida: " + cache, "Parámetros no válidos");
+        }
+    }
+
+    private static void requireId(String action, Long id) {
+        if (id == null) {
+            throw new InvalidEndpointRequestException("La acción " + action + " requiere el parámetro id", "Parámetros no válidos");
+        }
+    }
+
+    @FunctionalInterface
+    private interface IdsAfter {
+        List<Long> apply(Long userId, Long afterId, PageRequest pageable);
+    }
+}
@@ -0,0 +1,121 @@
+package com.cuidadodemascotas.microservice.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Contadores de generación para invalidar resultados de búsqueda sin recorrer claves.
+ * Cada resultado cacheado incluye en su clave la generación de los ámbitos de los que depende
+ * (owner, carer, global o servicios de reserva); una escritura incrementa esos contadores y las claves antiguas
+ * dejan de consultarse y expiran solas por TTL.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CacheGenerations {
+
+    public static final String ALL = "all";
+    // Totales de los listados de servicios de reserva
+    public static final String RESERVATION_SERVICES = "reservation_services";
+
+    private static final String KEY_PREFIX = "reservations::gen::";
+    // Mucho mayor que el TTL de cualquier resultado que dependa de la generación
+    private static final Duration GENERATION_TTL = Duration.ofDays(1);
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisCircuitBreaker circuitBreaker;
+
+    public static String ownerScope(Long ownerId) {
+        return "owner::" + ownerId;
+    }
+
+    public static String carerScope(Long carerId) {
+        return "carer::" + carerId;
+    }
+
+    /**
+     * Generación actual de cada ámbito, en el mismo orden (un solo MGET).
+     * Devuelve null si Redis no responde: el llamador debe ir directo a la base de datos.
+     */
+    public List<Long> current(List<String> scopes) {
+        if (!circuitBreaker.allowRequest()) {
+            return null;
+        }
+        try {
+            List<String> values = redisTemplate.opsForValue()
+                    .multiGet(scopes.stream().map(scope -> KEY_PREFIX + scope).toList());
+            if (values == null) {
+                return null;
+            }
+            circuitBreaker.onSuccess();
+            return values.stream().map(value -> value != null ? Long.parseLong(value) : 0L).toList();
+        } catch (Exception e) {
+            log.warn("No se pudieron leer las generaciones {}: {}", scopes, e.getMessage());
+            circuitBreaker.onFailure(e);
+            return null;
+        }
+    }
+
+    /**
+     * Incrementa las generaciones tras el commit de la transacción actual (o de inmediato si no hay).
+     * Hacerlo antes del commit permitiría cachear datos previos bajo la generación nueva.
+     */
+    public void bumpAfterCommit(Collection<String> scopes) {
+        Set<String> distinct = Set.copyOf(scopes);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bump(distinct);
+                }
+            });
+        } else {
+            bump(distinct);
+        }
+    }
+
+    private void bump(Collection<String> scopes) {
+        if (!circuitBreaker.allowRequest()) {
+            deferBumps(scopes);
+            return;
+        }
+        try {
+            bumpOrThrow(scopes);
+            circuitBreaker.onSuccess();
+            log.debug("Generaciones incrementadas: {}", scopes);
+        } catch (Exception e) {
+            log.warn("No se pudieron incrementar las generaciones {}: {}", scopes, e.getMessage());
+            circuitBreaker.onFailure(e);
+            deferBumps(scopes);
+        }
+    }
+
+    private void bumpOrThrow(Collection<String> scopes) {
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String scope : scopes) {
+                byte[] key = (KEY_PREFIX + scope).getBytes(StandardCharsets.UTF_8);
+                connection.stringCommands().incr(key);
+                connection.keyCommands().expire(key, GENERATION_TTL.getSeconds());
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Un incremento pendiente por ámbito basta: cualquier incremento invalida los resultados previos
+     */
+    private void deferBumps(Collection<String> scopes) {
+        scopes.forEach(scope -> circuitBreaker.defer("gen::" + scope, () -> bumpOrThrow(List.of(scope))));
+    }
+}
@@ -0,0 +1,254 @@
+package com.cuidadodemascotas.microservice.cache;
+
+import com.cuidadodemascotas.microservice.mapper.ReservationMapper;
+import com.cuidadodemascotas.microservice.repository.IReservationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.example.cuidadodemascota.commons.dto.ReservationResponseDTO;
+import org.example.cuidadodemascota.commons.entities.reservation.Reservation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.util.ByteUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Reconciliación periódica de la cache reservations con la base de datos. Otros microservicios
+ * escriben en las mismas tablas sin pasar por esta cache, así que una entrada puede quedar
+ * desfasada hasta su TTL.
+ *
+ * Recorre por keyset (updatedAt, id) todas las reservaciones y, por lotes, lee en un pipeline
+ * las entradas byId_ y sus versiones y compara los bytes serializados con los del DTO actual:
+ *   - igual: nada que hacer
+ *   - distinta y la base de datos es más reciente: se reescribe (compare-and-set, nunca pisa
+ *     una versión posterior escrita mientras tanto)
+ *   - distinta con la misma versión, más nueva en cache o reservación inactiva: se desaloja
+ * Las reservaciones que no están en cache no se cargan; las que no tienen updatedAt no se recorren.
+ *
+ * Corre en un único hilo propio, con consultas secuenciales fuera de transacción: nunca ocupa
+ * más de una conexión del pool. Cada ejecución está acotada en filas y tiempo, con pausa entre
+ * lotes, y la siguiente continúa donde terminó la anterior.
+ */
+@Slf4j
+@Component
+public class CacheReconciler {
+
+    private static final String CACHE = "reservations";
+    private static final LocalDateTime START = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private enum Result { MATCH, REPAIRED, EVICTED, NOT_CACHED }
+
+    private final IReservationRepository reservationRepository;
+    private final ReservationMapper reservationMapper;
+    private final BulkCacheOperations bulkCacheOperations;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisCircuitBreaker circuitBreaker;
+    private final MeterRegistry meterRegistry;
+
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxRowsPerRun;
+    private final Duration timeBudget;
+    private final Duration batchPause;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    // Posición del recorrido; al llegar al final vuelve a empezar
+    private volatile LocalDateTime afterUpdatedAt = START;
+    private volatile long afterId;
+
+    public CacheReconciler(IReservationRepository reservationRepository,
+                           ReservationMapper reservationMapper,
+                           BulkCacheOperations bulkCacheOperations,
+                           StringRedisTemplate redisTemplate,
+                           RedisCircuitBreaker circuitBreaker,
+                           MeterRegistry meterRegistry,
+                           @Value("${cache.reconciliation.enabled:true}") boolean enabled,
+                           @Value("${cache.reconciliation.batch-size:200}") int batchSize,
+                           @Value("${cache.reconciliation.max-rows-per-run:20000}") int maxRowsPerRun,
+                           @Value("${cache.reconciliation.time-budget:PT30S}") Duration timeBudget,
+                           @Value("${cache.reconciliation.batch-pause:PT0.2S}") Duration batchPause) {
+        this.reservationRepository = reservationRepository;
+        this.reservationMapper = reservationMapper;
+        this.bulkCacheOperations = bulkCacheOperations;
+        this.redisTemplate = redisTemplate;
+        this.circuitBreaker = circuitBreaker;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxRowsPerRun = maxRowsPerRun;
+        this.timeBudget = timeBudget;
+        this.batchPause = batchPause;
+    }
+
+    /**
+     * Lanza una ejecución en el hilo "cache-reconcile" si no hay otra en curso; el hilo del
+     * scheduler no queda ocupado durante las pausas
+     */
+    @Scheduled(initialDelayString = "${cache.reconciliation.initial-delay:PT5M}",
+            fixedDelayString = "${cache.reconciliation.interval:PT10M}")
+    public void schedule() {
+        if (!enabled || !running.compareAndSet(false, true)) {
+            return;
+        }
+        Thread.ofPlatform().name("cache-reconcile").daemon().start(() -> {
+            try {
+                reconcile();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                log.warn("Fallo en la reconciliación de la cache {}: {}", CACHE, e.getMessage());
+            } finally {
+                running.set(false);
+            }
+        });
+    }
+
+    private void reconcile() throws InterruptedException {
+        long start = System.nanoTime();
+        long deadline = start + timeBudget.toNanos();
+        int[] totals = new int[Result.values().length];
+        int rows = 0;
+
+        while (rows < maxRowsPerRun && System.nanoTime() < deadline) {
+            if (!circuitBreaker.allowRequest()) {
+                log.debug("Reconciliación pausada: Redis no está disponible");
+                break;
+            }
+            int limit = Math.min(batchSize, maxRowsPerRun - rows);
+            List<Reservation> batch = reservationRepository.findUpdatedAfter(
+                    afterUpdatedAt, afterId, PageRequest.of(0, limit));
+            if (batch.isEmpty()) {
+                afterUpdatedAt = START;
+                afterId = 0L;
+                break;
+            }
+
+            int[] results = reconcileBatch(batch);
+            for (int i = 0; i < totals.length; i++) {
+                totals[i] += results[i];
+            }
+            rows += batch.size();
+
+            Reservation last = batch.get(batch.size() - 1);
+            afterUpdatedAt = last.getUpdatedAt();
+            afterId = last.getId();
+            if (batch.size() < limit) {
+                afterUpdatedAt = START;
+                afterId = 0L;
+                break;
+            }
+            if (batchPause.isPositive()) {
+                Thread.sleep(batchPause);
+            }
+        }
+
+        Timer.builder("reservations.cache.reconciliation.duration").tag("cache", CACHE)
+                .register(meterRegistry).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        int drift = totals[Result.REPAIRED.ordinal()] + totals[Result.EVICTED.ordinal()];
+        if (drift > 0) {
+            log.info("Reconciliación de {}: {} filas, {} en cache, {} reescritas, {} desalojadas ({} ms)",
+                    CACHE, rows, rows - totals[Result.NOT_CACHED.ordinal()], totals[Result.REPAIRED.ordinal()],
+                    totals[Result.EVICTED.ordinal()], (System.nanoTime() - start) / 1_000_000);
+        } else {
+            log.debug("Reconciliación de {}: {} filas sin desfases ({} ms)",
+                    CACHE, rows, (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    /**
+     * Un lote: un pipeline de GET (entrada + versión) y, si hay desfases, una escritura y un
+     * desalojo en bloque. Devuelve el recuento por resultado.
+     */
+    private int[] reconcileBatch(List<Reservation> batch) {
+        RedisCacheConfiguration config = bulkCacheOperations.cacheConfiguration(CACHE);
+        List<String> keys = new ArrayList<>(batch.size());
+        batch.forEach(reservation -> keys.add("byId_" + reservation.getId()));
+
+        List<Object> cached = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String key : keys) {
+                byte[] rawKey = bulkCacheOperations.serializeKey(config, CACHE, key);
+                connection.stringCommands().get(rawKey);
+                connection.stringCommands().get(VersionedCacheWrites.withSuffix(rawKey, VersionedCacheWrites.VERSION_SUFFIX));
+            }
+            return null;
+        }, RedisSerializer.byteArray());
+
+        int[] results = new int[Result.values().length];
+        Map<String, Object> repairs = new LinkedHashMap<>();
+        List<String> evictions = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            Reservation reservation = batch.get(i);
+            String key = keys.get(i);
+            Result result;
+            if (!(cached.get(2 * i) instanceof byte[] cachedValue)) {
+                result = Result.NOT_CACHED;
+            } else if (!Boolean.TRUE.equals(reservation.getActive())) {
+                result = Result.EVICTED;
+            } else {
+                ReservationResponseDTO dto = reservationMapper.toDto(reservation);
+                byte[] current = ByteUtils.getBytes(config.getValueSerializationPair().write(dto));
+                if (Arrays.equals(current, cachedValue)) {
+                    result = Result.MATCH;
+                } else {
+                    Long version = VersionedCacheWrites.versionOf(dto);
+                    Long cachedVersion = parseVersion(cached.get(2 * i + 1));
+                    result = version != null && (cachedVersion == null || version > cachedVersion)
+                            ? Result.REPAIRED : Result.EVICTED;
+                    if (result == Result.REPAIRED) {
+                        repairs.put(key, dto);
+                    }
+                }
+            }
+            if (result == Result.EVICTED) {
+                evictions.add(key);
+            }
+            results[result.ordinal()]++;
+        }
+
+        if (!repairs.isEmpty() || !evictions.isEmpty()) {
+            log.debug("Desfases en {}: reescritas {}, desalojadas {}", CACHE, repairs.keySet(), evictions);
+        }
+        bulkCacheOperations.putAll(CACHE, repairs);
+        bulkCacheOperations.evictAll(CACHE, evictions);
+        for (Result result : Result.values()) {
+            if (results[result.ordinal()] > 0) {
+                counter(result).increment(results[result.ordinal()]);
+            }
+        }
+        return results;
+    }
+
+    private static Long parseVersion(Object raw) {
+        if (!(raw instanceof byte[] bytes)) {
+            return null;
+        }
+        try {
+            return Long.parseLong(new String(bytes, StandardCharsets.US_ASCII));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private Counter counter(Result result) {
+        return Counter.builder("reservations.cache.reconciliation")
+                .tag("cache", CACHE).tag("result", result.name().toLowerCase())
+                .register(meterRegistry);
+    }
+}
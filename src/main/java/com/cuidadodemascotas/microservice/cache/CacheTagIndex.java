@@ -0,0 +1,173 @@
+package com.cuidadodemascotas.microservice.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Índice de etiquetas: registra qué claves de una cache dependen de cada entidad
+ * (p. ej. "reservation::5" → byId_12, byId_13). Permite invalidar exactamente las entradas
+ * afectadas por una escritura, sin allEntries ni recorrer claves con SCAN.
+ *
+ * Cada etiqueta es un SET de Redis que expira con el TTL de la cache; un miembro cuya entrada
+ * ya expiró solo provoca un DEL inofensivo.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CacheTagIndex {
+
+    private static final String KEY_PREFIX = "reservations::tags::";
+
+    private final StringRedisTemplate redisTemplate;
+    private final BulkCacheOperations bulkCacheOperations;
+    private final RedisCircuitBreaker circuitBreaker;
+
+    public static String reservationTag(Long reservationId) {
+        return "reservation::" + reservationId;
+    }
+
+    /**
+     * Registra las etiquetas de una clave
+     */
+    public void tag(String cacheName, String key, Collection<String> tags) {
+        tagAll(cacheName, Map.of(key, tags));
+    }
+
+    /**
+     * Registra las etiquetas de varias claves en un solo pipeline (SADD + EXPIRE por etiqueta).
+     * Debe llamarse antes de que la entrada quede visible en la cache, para que una escritura
+     * concurrente no pueda perderla.
+     */
+    public void tagAll(String cacheName, Map<String, ? extends Collection<String>> tagsByKey) {
+        if (tagsByKey.isEmpty() || !circuitBreaker.allowRequest()) {
+            return;
+        }
+
+        // Las etiquetas deben sobrevivir a la entrada más longeva que referencian
+        Duration ttl = JitteredTtlFunction.upperBound(
+                bulkCacheOperations.cacheConfiguration(cacheName).getTtlFunction());
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                tagsByKey.forEach((key, tags) -> {
+                    byte[] member = key.getBytes(StandardCharsets.UTF_8);
+                    for (String tag : tags) {
+                        byte[] tagKey = tagKey(cacheName, tag);
+                        connection.setCommands().sAdd(tagKey, member);
+                        if (ttl.isPositive()) {
+                            connection.keyCommands().expire(tagKey, ttl.getSeconds());
+                        }
+                    }
+                });
+                return null;
+            });
+            circuitBreaker.onSuccess();
+        } catch (Exception e) {
+            // Sin la etiqueta, la entrada queda acotada por su propio TTL
+            log.warn("No se pudieron registrar etiquetas en la cache {}: {}", cacheName, e.getMessage());
+            circuitBreaker.onFailure(e);
+        }
+    }
+
+    /**
+     * Tras el commit (o de inmediato si no hay transacción) elimina las claves indicadas más
+     * todas las registradas bajo las etiquetas, en un solo pipeline.
+     */
+    public void evictAfterCommit(String cacheName, Collection<String> keys, Collection<String> tags) {
+        evictAfterCommit(cacheName, keys, List.of(), tags);
+    }
+
+    /**
+     * Como {@link #evictAfterCommit}, para las entradas de filas borradas: sus claves se desalojan
+     * con la lápida de un delete ({@link BulkCacheOperations#evictAllDeleted}) y el resto de las
+     * registradas bajo las etiquetas, con la normal.
+     */
+    public void evictDeletedAfterCommit(String cacheName, Collection<String> deletedKeys, Collection<String> tags) {
+        evictAfterCommit(cacheName, List.of(), deletedKeys, tags);
+    }
+
+    private void evictAfterCommit(String cacheName, Collection<String> keys, Collection<String> deletedKeys,
+                                  Collection<String> tags) {
+        List<String> keysCopy = List.copyOf(keys);
+        List<String> deletedCopy = List.copyOf(deletedKeys);
+        List<String> tagsCopy = List.copyOf(tags);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(cacheName, keysCopy, deletedCopy, tagsCopy);
+                }
+            });
+        } else {
+            evict(cacheName, keysCopy, deletedCopy, tagsCopy);
+        }
+    }
+
+    private void evict(String cacheName, List<String> keys, List<String> deletedKeys, List<String> tags) {
+        Set<String> toEvict = new LinkedHashSet<>(keys);
+        if (!tags.isEmpty()) {
+            if (!circuitBreaker.allowRequest()) {
+                // Las etiquetas se resuelven cuando Redis vuelva; las claves explícitas, ya
+                deferTags(cacheName, tags);
+            } else {
+                try {
+                    toEvict.addAll(taggedKeys(cacheName, tags));
+                    circuitBreaker.onSuccess();
+                } catch (Exception e) {
+                    log.warn("No se pudieron leer las etiquetas {} de la cache {}: {}", tags, cacheName, e.getMessage());
+                    circuitBreaker.onFailure(e);
+                    deferTags(cacheName, tags);
+                }
+            }
+        }
+        deletedKeys.forEach(toEvict::remove);
+
+        bulkCacheOperations.evictAllDeleted(cacheName, deletedKeys);
+        bulkCacheOperations.evictAll(cacheName, toEvict);
+        log.debug("Invalidación dirigida en {}: {} claves (etiquetas {})", cacheName,
+                deletedKeys.size() + toEvict.size(), tags);
+    }
+
+    /**
+     * Claves registradas bajo las etiquetas (un pipeline de SMEMBERS); las etiquetas se eliminan
+     */
+    private Set<String> taggedKeys(String cacheName, List<String> tags) {
+        Set<String> keys = new LinkedHashSet<>();
+        List<Object> members = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String tag : tags) {
+                connection.setCommands().sMembers(tagKey(cacheName, tag));
+            }
+            return null;
+        });
+        for (Object tagMembers : members) {
+            if (tagMembers instanceof Collection<?> collection) {
+                collection.forEach(member -> keys.add(member.toString()));
+            }
+        }
+        redisTemplate.delete(tags.stream().map(tag -> KEY_PREFIX + cacheName + "::" + tag).toList());
+        return keys;
+    }
+
+    private void deferTags(String cacheName, List<String> tags) {
+        for (String tag : tags) {
+            circuitBreaker.defer("tag::" + cacheName + "::" + tag,
+                    () -> bulkCacheOperations.evictAll(cacheName, taggedKeys(cacheName, List.of(tag))));
+        }
+    }
+
+    private static byte[] tagKey(String cacheName, String tag) {
+        return (KEY_PREFIX + cacheName + "::" + tag).getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,297 @@
+package com.cuidadodemascotas.microservice.cache;
+
+import com.cuidadodemascotas.microservice.mapper.ReservationMapper;
+import com.cuidadodemascotas.microservice.mapper.ReservationServiceMapper;
+import com.cuidadodemascotas.microservice.repository.IReservationRepository;
+import com.cuidadodemascotas.microservice.repository.IReservationServiceRepository;
+import com.netflix.appinfo.ApplicationInfoManager;
+import com.netflix.appinfo.InstanceInfo;
+import lombok.extern.slf4j.Slf4j;
+import org.example.cuidadodemascota.commons.dto.ReservationServiceResponseDTO;
+import org.example.cuidadodemascota.commons.entities.reservation.Reservation;
+import org.example.cuidadodemascota.commons.entities.reservation.ReservationService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Precalentamiento de cache al arrancar: recorre por keyset las reservaciones activas con
+ * fecha de servicio dentro de la ventana configurada (las más próximas primero) y escribe en
+ * bloque sus entradas byId_ y sus listas byReservation_, con sus etiquetas.
+ *
+ * La instancia se registra en Eureka como STARTING (eureka.instance.initial-status) y solo pasa
+ * a UP al terminar, así que no recibe tráfico con la cache fría; mientras dura, el health check
+ * reporta además OUT_OF_SERVICE. Al agotar el presupuesto de tiempo se detiene y la instancia
+ * queda disponible con lo que se haya cargado.
+ * El mismo recorrido se puede relanzar a mano, acotado y con pausas, desde el endpoint de
+ * administración de caches.
+ */
+@Slf4j
+@Component
+public class CacheWarmer implements HealthIndicator {
+
+    private enum State { PENDING, WARMING, DONE, FAILED, DISABLED }
+
+    private final IReservationRepository reservationRepository;
+    private final IReservationServiceRepository reservationServiceRepository;
+    private final ReservationMapper reservationMapper;
+    private final ReservationServiceMapper reservationServiceMapper;
+    private final BulkCacheOperations bulkCacheOperations;
+    private final CacheTagIndex cacheTagIndex;
+    private final RedisCircuitBreaker circuitBreaker;
+    private final ObjectProvider<ApplicationInfoManager> applicationInfoManager;
+
+    private final boolean enabled;
+    private final Duration window;
+    private final Duration timeBudget;
+    private final int batchSize;
+    private final Duration rewarmMinInterval;
+    private final int rewarmMaxReservations;
+    private final Duration rewarmBatchPause;
+
+    private volatile State state;
+    private volatile long warmedReservations;
+    private volatile long warmedServices;
+    private volatile long elapsedMillis;
+
+    // Como mucho un precalentamiento (inicial o manual) en curso
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile long lastRewarmNanos;
+
+    public CacheWarmer(IReservationRepository reservationRepository,
+                       IReservationServiceRepository reservationServiceRepository,
+                       ReservationMapper reservationMapper,
+                       ReservationServiceMapper reservationServiceMapper,
+                       BulkCacheOperations bulkCacheOperations,
+                       CacheTagIndex cacheTagIndex,
+                       RedisCircuitBreaker circuitBreaker,
+                       ObjectProvider<ApplicationInfoManager> applicationInfoManager,
+                       @Value("${cache.warmup.enabled:true}") boolean enabled,
+                       @Value("${cache.warmup.window:P7D}") Duration window,
+                       @Value("${cache.warmup.time-budget:PT60S}") Duration timeBudget,
+                       @Value("${cache.warmup.batch-size:500}") int batchSize,
+                       @Value("${cache.warmup.rewarm-min-interval:PT5M}") Duration rewarmMinInterval,
+                       @Value("${cache.warmup.rewarm-max-reservations:20000}") int rewarmMaxReservations,
+                       @Value("${cache.warmup.rewarm-batch-pause:PT0.1S}") Duration rewarmBatchPause) {
+        this.reservationRepository = reservationRepository;
+        this.reservationServiceRepository = reservationServiceRepository;
+        this.reservationMapper = reservationMapper;
+        this.reservationServiceMapper = reservationServiceMapper;
+        this.bulkCacheOperations = bulkCacheOperations;
+        this.cacheTagIndex = cacheTagIndex;
+        this.circuitBreaker = circuitBreaker;
+        this.applicationInfoManager = applicationInfoManager;
+        this.enabled = enabled;
+        this.window = window;
+        this.timeBudget = timeBudget;
+        this.batchSize = batchSize;
+        this.rewarmMinInterval = rewarmMinInterval;
+        this.rewarmMaxReservations = rewarmMaxReservations;
+        this.rewarmBatchPause = rewarmBatchPause;
+        this.state = enabled ? State.PENDING : State.DISABLED;
+    }
+
+    /**
+     * Arranca el precalentamiento en un hilo propio para no bloquear el arranque del contexto
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            markUp();
+            return;
+        }
+        running.set(true);
+        Thread.ofPlatform().name("cache-warmup").daemon().start(this::warmOnStartup);
+    }
+
+    /**
+     * Recalentamiento manual de una de las dos caches (endpoint de administración), en segundo
+     * plano y con pausas entre lotes para no competir con el tráfico. Devuelve false si ya hay
+     * uno en curso o si el anterior se lanzó hace menos de cache.warmup.rewarm-min-interval.
+     */
+    public boolean rewarm(String cacheName, int maxReservations) {
+        boolean reservations = "reservations".equals(cacheName);
+        boolean services = "reservation_services".equals(cacheName);
+        if (!reservations && !services) {
+            throw new IllegalArgumentException("Cache sin precalentamiento: " + cacheName);
+        }
+
+        long now = System.nanoTime();
+        if (lastRewarmNanos != 0 && now - lastRewarmNanos < rewarmMinInterval.toNanos()) {
+            return false;
+        }
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        lastRewarmNanos = now;
+        int limit = Math.min(Math.max(maxReservations, 1), rewarmMaxReservations);
+        Thread.ofPlatform().name("cache-rewarm").daemon().start(() -> {
+            try {
+                long[] warmed = warmUpcoming(limit, timeBudget, rewarmBatchPause, reservations, services);
+                log.info("Recalentamiento manual de {} finalizado: {} reservaciones, {} servicios",
+                        cacheName, warmed[0], warmed[1]);
+            } catch (Exception e) {
+                log.warn("Fallo en el recalentamiento manual de cache: {}", e.getMessage());
+            } finally {
+                running.set(false);
+            }
+        });
+        return true;
+    }
+
+    private void warmOnStartup() {
+        state = State.WARMING;
+        long start = System.nanoTime();
+        log.info("Precalentando cache (presupuesto {})", timeBudget);
+        try {
+            warmUpcoming(Long.MAX_VALUE, timeBudget, Duration.ZERO, true, true);
+            state = State.DONE;
+        } catch (Exception e) {
+            // Sin precalentar la instancia sigue siendo válida: la cache se llena bajo demanda
+            log.warn("Fallo en el precalentamiento de cache, se continúa con la cache fría: {}", e.getMessage());
+            state = State.FAILED;
+        } finally {
+            elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            log.info("Precalentamiento finalizado en {} ms: {} reservaciones, {} servicios",
+                    elapsedMillis, warmedReservations, warmedServices);
+            running.set(false);
+            markUp();
+        }
+    }
+
+    /**
+     * Pasa la instancia a UP en Eureka (registro inmediato, sin esperar al replicador)
+     */
+    private void markUp() {
+        applicationInfoManager.ifAvailable(manager -> manager.setInstanceStatus(InstanceInfo.InstanceStatus.UP));
+    }
+
+    /**
+     * Recorre por keyset las reservaciones activas de la ventana, como mucho maxReservations y
+     * dentro del presupuesto de tiempo, y escribe las caches indicadas. Devuelve
+     * {reservaciones recorridas, servicios cargados}.
+     */
+    private long[] warmUpcoming(long maxReservations, Duration budget, Duration pause,
+                                boolean warmReservations, boolean warmServices) throws InterruptedException {
+        long start = System.nanoTime();
+        long deadline = start + budget.toNanos();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime to = now.plus(window);
+        long reservations = 0;
+        long services = 0;
+
+        LocalDateTime afterDate = now;
+        long afterId = 0L;
+        while (reservations < maxReservations) {
+            if (System.nanoTime() > deadline) {
+                log.warn("Precalentamiento detenido al agotar el presupuesto de {}: {} reservaciones y {} servicios cargados",
+                        budget, reservations, services);
+                break;
+            }
+            if (!circuitBreaker.allowRequest()) {
+                log.warn("Precalentamiento detenido: Redis no está disponible");
+                break;
+            }
+
+            int limit = (int) Math.min(batchSize, maxReservations - reservations);
+            List<Reservation> batch = reservationRepository.findUpcomingAfter(
+                    afterDate, afterId, to, PageRequest.of(0, limit));
+            if (batch.isEmpty()) {
+                break;
+            }
+            if (warmReservations) {
+                warmReservations(batch);
+            }
+            if (warmServices) {
+                services += warmServices(batch);
+            }
+            reservations += batch.size();
+            if (state == State.WARMING) {
+                warmedReservations = reservations;
+                warmedServices = services;
+                elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            }
+
+            Reservation last = batch.get(batch.size() - 1);
+            afterDate = last.getServiceDate();
+            afterId = last.getId();
+            log.info("Precalentamiento: {} reservaciones y {} servicios cargados ({} ms)",
+                    reservations, services, (System.nanoTime() - start) / 1_000_000);
+            if (batch.size() < limit) {
+                break;
+            }
+            if (pause.isPositive()) {
+                Thread.sleep(pause);
+            }
+        }
+        return new long[]{reservations, services};
+    }
+
+    /**
+     * Entradas byId_ de un lote de reservaciones en un pipeline
+     */
+    private void warmReservations(List<Reservation> batch) {
+        Map<String, Object> reservations = new LinkedHashMap<>();
+        for (Reservation reservation : batch) {
+            reservations.put("byId_" + reservation.getId(), reservationMapper.toDto(reservation));
+        }
+        bulkCacheOperations.putAll("reservations", reservations);
+    }
+
+    /**
+     * Servicios de un lote: una consulta para todas sus reservaciones y un pipeline.
+     * Devuelve el número de servicios cargados.
+     */
+    private int warmServices(List<Reservation> batch) {
+        Map<Long, List<ReservationServiceResponseDTO>> servicesByReservation = new LinkedHashMap<>();
+        for (Reservation reservation : batch) {
+            servicesByReservation.put(reservation.getId(), new ArrayList<>());
+        }
+
+        List<ReservationService> services = reservationServiceRepository
+                .findByReservationIdInAndActiveTrue(servicesByReservation.keySet());
+        Map<String, Object> serviceEntries = new LinkedHashMap<>();
+        Map<String, List<String>> tags = new LinkedHashMap<>();
+        for (ReservationService rs : services) {
+            ReservationServiceResponseDTO dto = reservationServiceMapper.toDto(rs);
+            servicesByReservation.get(dto.getReservationId()).add(dto);
+            serviceEntries.put("byId_" + dto.getId(), dto);
+            tags.put("byId_" + dto.getId(), List.of(CacheTagIndex.reservationTag(dto.getReservationId())));
+        }
+        servicesByReservation.forEach((reservationId, list) -> {
+            serviceEntries.put("byReservation_" + reservationId, list);
+            tags.put("byReservation_" + reservationId, List.of(CacheTagIndex.reservationTag(reservationId)));
+        });
+
+        // Etiquetas antes que las entradas, igual que en las escrituras normales
+        cacheTagIndex.tagAll("reservation_services", tags);
+        bulkCacheOperations.putAll("reservation_services", serviceEntries);
+        return services.size();
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder builder = switch (state) {
+            case PENDING, WARMING -> Health.outOfService();
+            case DONE, FAILED, DISABLED -> Health.up();
+        };
+        return builder.withDetail("state", state)
+                .withDetail("reservations", warmedReservations)
+                .withDetail("services", warmedServices)
+                .withDetail("elapsedMs", elapsedMillis)
+                .build();
+    }
+}
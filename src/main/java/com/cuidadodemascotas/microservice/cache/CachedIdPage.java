@@ -0,0 +1,10 @@
+package com.cuidadodemascotas.microservice.cache;
+
+import java.util.List;
+
+/**
+ * Resultado de búsqueda cacheado: IDs en el orden de la consulta + total de elementos.
+ * Las entidades se hidratan desde sus entradas individuales (byId_).
+ */
+public record CachedIdPage(List<Long> ids, long totalElements) {
+}
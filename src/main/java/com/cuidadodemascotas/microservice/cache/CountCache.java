@@ -0,0 +1,62 @@
+package com.cuidadodemascotas.microservice.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * Cache de TTL corto para los totales de los listados paginados, por filtro (sin página ni
+ * orden): recorrer páginas de la misma búsqueda no repite el COUNT. Si se indican ámbitos de
+ * generación, la clave los incluye y las escrituras de este servicio la invalidan al instante;
+ * los cambios de otros servicios se ven tras el TTL. Los errores de Redis se ignoran.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CountCache {
+
+    public static final String CACHE_NAME = "reservation_counts";
+
+    private final CacheManager cacheManager;
+    private final CacheGenerations cacheGenerations;
+
+    /**
+     * @param countKey Filtro normalizado
+     * @param scopes Ámbitos de generación de los que depende el total (puede estar vacío)
+     * @param counter COUNT en la base de datos, usado en un miss
+     */
+    public long getOrCount(String countKey, List<String> scopes, LongSupplier counter) {
+        String key = countKey;
+        if (!scopes.isEmpty()) {
+            List<Long> generations = cacheGenerations.current(scopes);
+            if (generations == null) {
+                return counter.getAsLong();
+            }
+            key = countKey + "|g=" + generations;
+        }
+
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        try {
+            Cache.ValueWrapper cached = cache.get(key);
+            // El serializador JSON devuelve Integer para totales pequeños
+            if (cached != null && cached.get() instanceof Number total) {
+                return total.longValue();
+            }
+        } catch (Exception e) {
+            log.debug("No se pudo consultar el total cacheado {}: {}", key, e.getMessage());
+        }
+
+        long total = counter.getAsLong();
+        try {
+            cache.put(key, total);
+        } catch (Exception e) {
+            log.debug("No se pudo cachear el total {}: {}", key, e.getMessage());
+        }
+        return total;
+    }
+}
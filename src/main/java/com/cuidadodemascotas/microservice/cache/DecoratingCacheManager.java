@@ -0,0 +1,46 @@
+package com.cuidadodemascotas.microservice.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * CacheManager que envuelve las caches de otro CacheManager (Redis) con decoradores propios.
+ * Las caches resultantes se exponen siempre como transaction-aware, igual que antes
+ * con RedisCacheManager.transactionAware(), para que put/evict se apliquen tras el commit.
+ */
+public class DecoratingCacheManager implements CacheManager {
+
+    private final CacheManager delegate;
+    private final UnaryOperator<Cache> decorator;
+    private final Map<String, Cache> decoratedCaches = new ConcurrentHashMap<>();
+
+    public DecoratingCacheManager(CacheManager delegate, UnaryOperator<Cache> decorator) {
+        this.delegate = delegate;
+        this.decorator = decorator;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cached = decoratedCaches.get(name);
+        if (cached != null) {
+            return cached;
+        }
+        Cache target = delegate.getCache(name);
+        if (target == null) {
+            return null;
+        }
+        return decoratedCaches.computeIfAbsent(name,
+                key -> new TransactionAwareCacheDecorator(decorator.apply(target)));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+}
@@ -0,0 +1,159 @@
+package com.cuidadodemascotas.microservice.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Degradación rápida de una cache de Redis: con el circuito abierto las lecturas son miss y
+ * las escrituras se omiten al instante; un error de Redis nunca llega a la petición, se trata
+ * igual que un miss. Las invalidaciones omitidas se reaplican al recuperarse Redis, y cada
+ * escritura omitida o fallida deja pendiente el desalojo de su clave: el valor anterior que
+ * siguiera en Redis no se sirve tras la recuperación.
+ */
+@Slf4j
+public class FailFastCache implements Cache {
+
+    private final Cache delegate;
+    private final RedisCircuitBreaker circuitBreaker;
+
+    public FailFastCache(Cache delegate, RedisCircuitBreaker circuitBreaker) {
+        this.delegate = delegate;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        if (!circuitBreaker.allowRequest()) {
+            return null;
+        }
+        try {
+            ValueWrapper wrapper = delegate.get(key);
+            circuitBreaker.onSuccess();
+            return wrapper;
+        } catch (RuntimeException e) {
+            failed("get", key, e);
+            return null;
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                    "El valor cacheado no es del tipo requerido [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        put(key, value);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (circuitBreaker.allowRequest()) {
+            try {
+                delegate.put(key, value);
+                circuitBreaker.onSuccess();
+                return;
+            } catch (RuntimeException e) {
+                failed("put", key, e);
+            }
+        }
+        deferEviction(key);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        if (!circuitBreaker.allowRequest()) {
+            return null;
+        }
+        try {
+            ValueWrapper existing = delegate.putIfAbsent(key, value);
+            circuitBreaker.onSuccess();
+            return existing;
+        } catch (RuntimeException e) {
+            failed("putIfAbsent", key, e);
+            deferEviction(key);
+            return null;
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        evictIfPresent(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        if (circuitBreaker.allowRequest()) {
+            try {
+                boolean evicted = delegate.evictIfPresent(key);
+                circuitBreaker.onSuccess();
+                return evicted;
+            } catch (RuntimeException e) {
+                failed("evict", key, e);
+            }
+        }
+        deferEviction(key);
+        return false;
+    }
+
+    @Override
+    public void clear() {
+        if (circuitBreaker.allowRequest()) {
+            try {
+                delegate.clear();
+                circuitBreaker.onSuccess();
+                return;
+            } catch (RuntimeException e) {
+                failed("clear", null, e);
+            }
+        }
+        circuitBreaker.defer("clear::" + getName(), delegate::clear);
+    }
+
+    private void deferEviction(Object key) {
+        circuitBreaker.defer("evict::" + getName() + "::" + key, () -> delegate.evict(key));
+    }
+
+    /**
+     * Los errores de serialización (valor corrupto o de otra versión) se tratan como miss
+     * sin contar para el circuito; el resto son fallos de Redis.
+     */
+    private void failed(String operation, Object key, RuntimeException e) {
+        if (!(e instanceof SerializationException)) {
+            circuitBreaker.onFailure(e);
+        }
+        log.warn("Error de cache en {} {}::{}, se continúa sin cache: {}", operation, getName(), key, e.getMessage());
+    }
+}
@@ -0,0 +1,78 @@
+package com.cuidadodemascotas.microservice.cache;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Count-Min sketch de frecuencias: 4 filas de contadores, cada clave incrementa un contador por
+ * fila y su frecuencia estimada es el mínimo (nunca subestima). Memoria fija (4 × width × 4 bytes)
+ * sea cual sea el número de claves; halve() envejece todas las frecuencias a la mitad.
+ */
+public class FrequencySketch {
+
+    private static final int DEPTH = 4;
+    private static final long[] SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L};
+
+    private final AtomicIntegerArray counters;
+    private final int mask;
+
+    /**
+     * @param width contadores por fila; se redondea a potencia de dos
+     */
+    public FrequencySketch(int width) {
+        int size = Integer.highestOneBit(Math.max(64, width) - 1) << 1;
+        this.counters = new AtomicIntegerArray(DEPTH * size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * Cuenta un acceso y devuelve la frecuencia estimada resultante
+     */
+    public int increment(long hash) {
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            int index = row * (mask + 1) + index(hash, row);
+            int value = counters.get(index);
+            // Saturación: no desbordar en claves extremadamente calientes
+            if (value < Integer.MAX_VALUE) {
+                value = counters.incrementAndGet(index);
+            }
+            estimate = Math.min(estimate, value);
+        }
+        return estimate;
+    }
+
+    public int estimate(long hash) {
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            estimate = Math.min(estimate, counters.get(row * (mask + 1) + index(hash, row)));
+        }
+        return estimate;
+    }
+
+    /**
+     * Divide todos los contadores entre dos. No es atómico respecto a los incrementos
+     * concurrentes; el error es de un acceso por contador, irrelevante para una estimación.
+     */
+    public void halve() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.set(i, counters.get(i) >>> 1);
+        }
+    }
+
+    private int index(long hash, int row) {
+        return (int) (mix(hash ^ SEEDS[row]) & mask);
+    }
+
+    /**
+     * Finalizador de MurmurHash3 (fmix64)
+     */
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB2F90B3ED1C5L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
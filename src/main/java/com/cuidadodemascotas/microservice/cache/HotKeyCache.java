@@ -0,0 +1,125 @@
+package com.cuidadodemascotas.microservice.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registra cada lectura en {@link HotKeyTracker} y, si está activado, fija las claves que
+ * superan el umbral en una réplica local de vida muy corta: la clave más caliente deja de
+ * golpear siempre el mismo slot de Redis.
+ *
+ * Las escrituras y desalojos que pasan por esta cache retiran la réplica al instante; las
+ * escrituras en bloque de {@link BulkCacheOperations} (que van directas a Redis) y los cambios
+ * hechos por otras instancias se ven como mucho tras cache.hot-keys.pin.ttl.
+ */
+public class HotKeyCache implements Cache {
+
+    private record Pinned(Object value, long expiresAtNanos) {
+    }
+
+    private final Cache delegate;
+    private final HotKeyTracker tracker;
+    private final boolean pinEnabled;
+    private final long pinTtlNanos;
+    private final int maxPinned;
+    private final Map<Object, Pinned> pinned = new ConcurrentHashMap<>();
+
+    public HotKeyCache(Cache delegate, HotKeyTracker tracker, boolean pinEnabled, Duration pinTtl, int maxPinned) {
+        this.delegate = delegate;
+        this.tracker = tracker;
+        this.pinEnabled = pinEnabled;
+        this.pinTtlNanos = pinTtl.toNanos();
+        this.maxPinned = maxPinned;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        int estimate = tracker.record(getName(), key);
+        if (!pinEnabled) {
+            return delegate.get(key);
+        }
+
+        Pinned local = pinned.get(key);
+        long now = System.nanoTime();
+        if (local != null) {
+            if (now - local.expiresAtNanos() < 0) {
+                return new SimpleValueWrapper(local.value());
+            }
+            pinned.remove(key, local);
+        }
+
+        ValueWrapper wrapper = delegate.get(key);
+        if (wrapper != null && wrapper.get() != null && tracker.isPinCandidate(estimate)
+                && (pinned.size() < maxPinned || pinned.containsKey(key))) {
+            pinned.put(key, new Pinned(wrapper.get(), now + pinTtlNanos));
+        }
+        return wrapper;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                    "El valor cacheado no es del tipo requerido [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+        return delegate.get(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        pinned.remove(key);
+        delegate.put(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        pinned.remove(key);
+        return delegate.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        pinned.remove(key);
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        pinned.remove(key);
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        pinned.clear();
+        delegate.clear();
+    }
+}
@@ -0,0 +1,116 @@
+package com.cuidadodemascotas.microservice.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Detección de claves calientes en las caches: cada lectura incrementa un Count-Min sketch
+ * (memoria fija, sin asignaciones) y las claves cuya frecuencia estimada supera a la menor del
+ * top-K entran en la lista de candidatas. Las frecuencias se reducen a la mitad en cada
+ * intervalo de envejecimiento, así que reflejan el tráfico reciente.
+ *
+ * El top-K solo se consulta cada pocos accesos de una misma clave para mantener el coste del
+ * camino de lectura en unas decenas de nanosegundos.
+ */
+@Component
+public class HotKeyTracker {
+
+    // La lista de candidatas se consulta cada 8 incrementos de una clave
+    private static final int TOP_K_SAMPLE_MASK = 0x7;
+
+    public record HotKey(String cache, String key) {
+    }
+
+    private final boolean enabled;
+    private final int topK;
+    private final int pinThreshold;
+    private final FrequencySketch sketch;
+    private final Map<HotKey, Integer> candidates = new ConcurrentHashMap<>();
+    private volatile int admissionThreshold;
+
+    public HotKeyTracker(@Value("${cache.hot-keys.enabled:true}") boolean enabled,
+                         @Value("${cache.hot-keys.sketch-width:16384}") int sketchWidth,
+                         @Value("${cache.hot-keys.top-k:50}") int topK,
+                         @Value("${cache.hot-keys.pin.threshold:1000}") int pinThreshold) {
+        this.enabled = enabled;
+        this.topK = topK;
+        this.pinThreshold = pinThreshold;
+        this.sketch = new FrequencySketch(sketchWidth);
+    }
+
+    /**
+     * Registra una lectura y devuelve su frecuencia estimada en la ventana actual (0 si está desactivado)
+     */
+    public int record(String cacheName, Object key) {
+        if (!enabled) {
+            return 0;
+        }
+        int estimate = sketch.increment(hash(cacheName, key));
+        if ((estimate & TOP_K_SAMPLE_MASK) == 0 && estimate > admissionThreshold) {
+            admit(new HotKey(cacheName, String.valueOf(key)), estimate);
+        }
+        return estimate;
+    }
+
+    /**
+     * true si la frecuencia estimada alcanza el umbral para fijar la clave en réplica local
+     */
+    public boolean isPinCandidate(int estimate) {
+        return estimate >= pinThreshold;
+    }
+
+    /**
+     * Claves más leídas en la ventana actual, de mayor a menor
+     */
+    public List<Map.Entry<HotKey, Integer>> top() {
+        return candidates.entrySet().stream()
+                .sorted(Map.Entry.<HotKey, Integer>comparingByValue().reversed())
+                .limit(topK)
+                .map(entry -> Map.entry(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+
+    /**
+     * Envejecimiento: reduce a la mitad el sketch y las candidatas
+     */
+    @Scheduled(fixedDelayString = "${cache.hot-keys.decay-interval:PT1M}")
+    public void decay() {
+        if (!enabled) {
+            return;
+        }
+        sketch.halve();
+        candidates.replaceAll((key, estimate) -> estimate >>> 1);
+        candidates.values().removeIf(estimate -> estimate == 0);
+        trim();
+    }
+
+    private void admit(HotKey hotKey, int estimate) {
+        candidates.merge(hotKey, estimate, Math::max);
+        // Se tolera hasta el doble de K antes de recortar, para no ordenar en cada admisión
+        if (candidates.size() > 2 * topK) {
+            trim();
+        }
+    }
+
+    private synchronized void trim() {
+        if (candidates.size() <= topK) {
+            admissionThreshold = 0;
+            return;
+        }
+        List<Map.Entry<HotKey, Integer>> sorted = candidates.entrySet().stream()
+                .sorted(Map.Entry.comparingByValue(Comparator.reverseOrder()))
+                .toList();
+        sorted.subList(topK, sorted.size()).forEach(entry -> candidates.remove(entry.getKey(), entry.getValue()));
+        admissionThreshold = sorted.get(topK - 1).getValue();
+    }
+
+    private static long hash(String cacheName, Object key) {
+        return ((long) cacheName.hashCode() << 32) ^ (key.hashCode() & 0xFFFFFFFFL);
+    }
+}
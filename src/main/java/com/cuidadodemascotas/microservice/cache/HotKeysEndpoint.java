@@ -0,0 +1,61 @@
+package com.cuidadodemascotas.microservice.cache;
+
+import io.lettuce.core.cluster.SlotHash;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Claves más leídas de las caches en la ventana actual (/actuator/hotkeys), restringido a
+ * ROLE_ADMIN en SecurityConfig. Incluye el slot de Redis Cluster de cada clave y el total por
+ * slot, para ver si la carga se concentra en un único nodo.
+ */
+@Component
+@Endpoint(id = "hotkeys")
+public class HotKeysEndpoint {
+
+    private final HotKeyTracker hotKeyTracker;
+    private final BulkCacheOperations bulkCacheOperations;
+
+    public HotKeysEndpoint(HotKeyTracker hotKeyTracker, BulkCacheOperations bulkCacheOperations) {
+        this.hotKeyTracker = hotKeyTracker;
+        this.bulkCacheOperations = bulkCacheOperations;
+    }
+
+    public record HotKeyStats(String cache, String key, int estimatedReads, int slot) {
+    }
+
+    public record HotKeysReport(List<HotKeyStats> keys, Map<Integer, Long> readsBySlot) {
+    }
+
+    @ReadOperation
+    public HotKeysReport hotKeys() {
+        List<HotKeyStats> keys = new ArrayList<>();
+        for (Map.Entry<HotKeyTracker.HotKey, Integer> entry : hotKeyTracker.top()) {
+            HotKeyTracker.HotKey hotKey = entry.getKey();
+            keys.add(new HotKeyStats(hotKey.cache(), hotKey.key(), entry.getValue(), slot(hotKey)));
+        }
+
+        Map<Integer, Long> bySlot = new TreeMap<>();
+        keys.forEach(stats -> bySlot.merge(stats.slot(), (long) stats.estimatedReads(), Long::sum));
+        Map<Integer, Long> readsBySlot = new LinkedHashMap<>();
+        bySlot.entrySet().stream()
+                .sorted(Map.Entry.<Integer, Long>comparingByValue(Comparator.reverseOrder()))
+                .forEach(entry -> readsBySlot.put(entry.getKey(), entry.getValue()));
+        return new HotKeysReport(keys, readsBySlot);
+    }
+
+    private int slot(HotKeyTracker.HotKey hotKey) {
+        RedisCacheConfiguration config = bulkCacheOperations.cacheConfiguration(hotKey.cache());
+        String fullKey = config.usePrefix() ? config.getKeyPrefixFor(hotKey.cache()) + hotKey.key() : hotKey.key();
+        return SlotHash.getSlot(fullKey);
+    }
+}
@@ -0,0 +1,177 @@
+package com.cuidadodemascotas.microservice.cache;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.BiFunction;
+import java.util.function.LongSupplier;
+
+/**
+ * Filtro de pertenencia probabilístico (Bloom) de los IDs activos de una entidad.
+ * Que un ID esté en el filtro indica que muy probablemente existe (falsos positivos acotados
+ * por fpp), y la consulta puede saltarse la cache negativa.
+ *
+ * La ausencia nunca es definitiva: una secuencia puede confirmar IDs fuera de orden, otros
+ * servicios escriben en las mismas tablas y una fila eliminada puede reactivarse después de
+ * construir el filtro. Un ID ausente (o mayor que el mayor ID visto al construirlo, o
+ * cualquiera mientras no se haya construido) se resuelve con la cache negativa y la base de datos.
+ */
+@Slf4j
+public class IdMembershipFilter {
+
+    private final String name;
+    private final LongSupplier activeCount;
+    private final BiFunction<Long, Integer, List<Long>> activeIdsAfter;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final int chunkSize;
+
+    private volatile Snapshot snapshot;
+    private volatile boolean building;
+    private final Queue<Long> addedDuringBuild = new ConcurrentLinkedQueue<>();
+
+    /**
+     * @param activeCount Número de IDs activos (para dimensionar el filtro)
+     * @param activeIdsAfter IDs activos mayores que el dado, ordenados, hasta el límite indicado
+     */
+    public IdMembershipFilter(String name, LongSupplier activeCount,
+                              BiFunction<Long, Integer, List<Long>> activeIdsAfter,
+                              long expectedInsertions, double falsePositiveRate, int chunkSize) {
+        this.name = name;
+        this.activeCount = activeCount;
+        this.activeIdsAfter = activeIdsAfter;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * true si el ID probablemente existe; false si no se sabe (no implica que no exista)
+     */
+    public boolean probablyContains(Long id) {
+        Snapshot current = snapshot;
+        if (id == null || current == null || id > current.watermark()) {
+            return false;
+        }
+        return current.bits().mightContain(id);
+    }
+
+    /**
+     * Registra un ID recién creado o encontrado en la base de datos
+     */
+    public void add(Long id) {
+        if (building) {
+            addedDuringBuild.add(id);
+        }
+        Snapshot current = snapshot;
+        if (current != null) {
+            current.bits().put(id);
+        }
+    }
+
+    /**
+     * Reconstruye el filtro recorriendo los IDs activos por keyset (sin OFFSET) y lo sustituye
+     * de forma atómica. Ante un error se conserva el filtro anterior.
+     */
+    public void rebuild() {
+        long start = System.nanoTime();
+        building = true;
+        addedDuringBuild.clear();
+        try {
+            long count = activeCount.getAsLong();
+            // Holgura para los IDs que se creen hasta la próxima reconstrucción
+            BloomBits bits = new BloomBits(Math.max(expectedInsertions, count * 2), falsePositiveRate);
+
+            long watermark = 0;
+            List<Long> chunk = activeIdsAfter.apply(0L, chunkSize);
+            while (!chunk.isEmpty()) {
+                for (Long id : chunk) {
+                    bits.put(id);
+                }
+                watermark = chunk.get(chunk.size() - 1);
+                chunk = chunk.size() < chunkSize ? List.of() : activeIdsAfter.apply(watermark, chunkSize);
+            }
+
+            addedDuringBuild.forEach(bits::put);
+            snapshot = new Snapshot(bits, watermark);
+            addedDuringBuild.forEach(bits::put);
+
+            log.info("Filtro de IDs {} construido: {} IDs activos, máximo {}, {} KB ({} ms)",
+                    name, count, watermark, bits.sizeInBytes() / 1024, (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception e) {
+            log.warn("No se pudo construir el filtro de IDs {}: {}", name, e.getMessage());
+        } finally {
+            building = false;
+            addedDuringBuild.clear();
+        }
+    }
+
+    private record Snapshot(BloomBits bits, long watermark) {
+    }
+
+    /**
+     * Bits del filtro de Bloom con doble hashing (k índices a partir de dos hashes de 64 bits).
+     * Seguro para escrituras concurrentes.
+     */
+    static final class BloomBits {
+
+        private final AtomicLongArray words;
+        private final long bitCount;
+        private final int hashCount;
+
+        BloomBits(long expectedInsertions, double falsePositiveRate) {
+            long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            this.words = new AtomicLongArray((int) Math.max(1, (bits + 63) / 64));
+            this.bitCount = words.length() * 64L;
+            this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+        }
+
+        void put(long id) {
+            long h1 = mix(id);
+            long h2 = mix(h1);
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << (bit & 63);
+                long value;
+                do {
+                    value = words.get(word);
+                    if ((value & mask) != 0) {
+                        break;
+                    }
+                } while (!words.compareAndSet(word, value, value | mask));
+            }
+        }
+
+        boolean mightContain(long id) {
+            long h1 = mix(id);
+            long h2 = mix(h1);
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                if ((words.get((int) (bit >>> 6)) & (1L << (bit & 63))) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        long sizeInBytes() {
+            return words.length() * 8L;
+        }
+
+        /**
+         * Finalizador de MurmurHash3 (fmix64): dispersa IDs secuenciales
+         */
+        private static long mix(long value) {
+            value ^= value >>> 33;
+            value *= 0xff51afd7ed558ccdL;
+            value ^= value >>> 33;
+            value *= 0xc4ceb9fe1a85ec53L;
+            value ^= value >>> 33;
+            return value;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.cuidadodemascotas.microservice.cache;
+
+import com.cuidadodemascotas.microservice.repository.IReservationRepository;
+import com.cuidadodemascotas.microservice.repository.IReservationServiceRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Filtros de pertenencia de IDs activos de Reservation y ReservationService: los IDs presentes
+ * no consultan la cache negativa; los ausentes van a la cache negativa y a la base de datos.
+ * Se construyen en segundo plano al arrancar y se reconstruyen periódicamente para
+ * descartar los IDs eliminados; save los actualiza al instante.
+ */
+@Slf4j
+@Component
+public class IdMembershipFilters {
+
+    private static final int CHUNK_SIZE = 10_000;
+
+    private final IdMembershipFilter reservations;
+    private final IdMembershipFilter reservationServices;
+    private final boolean enabled;
+
+    public IdMembershipFilters(IReservationRepository reservationRepository,
+                               IReservationServiceRepository reservationServiceRepository,
+                               @Value("${cache.id-filter.enabled:true}") boolean enabled,
+                               @Value("${cache.id-filter.expected-insertions:100000}") long expectedInsertions,
+                               @Value("${cache.id-filter.fpp:0.01}") double falsePositiveRate) {
+        this.enabled = enabled;
+        this.reservations = new IdMembershipFilter("reservations",
+                reservationRepository::countByActiveTrue,
+                (afterId, limit) -> reservationRepository.findActiveIdsAfter(afterId, PageRequest.of(0, limit)),
+                expectedInsertions, falsePositiveRate, CHUNK_SIZE);
+        this.reservationServices = new IdMembershipFilter("reservation_services",
+                reservationServiceRepository::countByActiveTrue,
+                (afterId, limit) -> reservationServiceRepository.findActiveIdsAfter(afterId, PageRequest.of(0, limit)),
+                expectedInsertions, falsePositiveRate, CHUNK_SIZE);
+    }
+
+    public IdMembershipFilter reservations() {
+        return reservations;
+    }
+
+    public IdMembershipFilter reservationServices() {
+        return reservationServices;
+    }
+
+    /**
+     * Construcción inicial y reconstrucciones periódicas, en el hilo del scheduler (no bloquea el arranque)
+     */
+    @Scheduled(initialDelayString = "${cache.id-filter.initial-delay:PT0S}",
+            fixedDelayString = "${cache.id-filter.rebuild-interval:PT30M}")
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        reservations.rebuild();
+        reservationServices.rebuild();
+    }
+}
@@ -0,0 +1,142 @@
+package com.cuidadodemascotas.microservice.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.cache.Cache;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Métricas por cache: aciertos, fallos, escrituras, desalojos y errores, más un histograma de
+ * latencia por operación. Envuelve la cache completa (L1 + Redis), así que mide lo que ve la
+ * aplicación. Se consultan en /actuator/metrics/reservations.cache.*
+ */
+public class InstrumentedCache implements Cache {
+
+    private final Cache delegate;
+    private final MeterRegistry meterRegistry;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter puts;
+    private final Counter evictions;
+    private final Map<String, Timer> latencies = new ConcurrentHashMap<>();
+    private final Map<String, Counter> errors = new ConcurrentHashMap<>();
+
+    public InstrumentedCache(Cache delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.meterRegistry = meterRegistry;
+        this.hits = Counter.builder("reservations.cache.gets").tag("cache", delegate.getName()).tag("result", "hit")
+                .description("Lecturas de cache que encontraron valor").register(meterRegistry);
+        this.misses = Counter.builder("reservations.cache.gets").tag("cache", delegate.getName()).tag("result", "miss")
+                .description("Lecturas de cache sin valor").register(meterRegistry);
+        this.puts = Counter.builder("reservations.cache.puts").tag("cache", delegate.getName())
+                .description("Escrituras en cache").register(meterRegistry);
+        this.evictions = Counter.builder("reservations.cache.evictions").tag("cache", delegate.getName())
+                .description("Desalojos explícitos de cache").register(meterRegistry);
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper wrapper = record("get", () -> delegate.get(key));
+        (wrapper != null ? hits : misses).increment();
+        return wrapper;
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        T value = record("get", () -> delegate.get(key, type));
+        (value != null ? hits : misses).increment();
+        return value;
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        boolean[] loaded = new boolean[1];
+        T value = record("get", () -> delegate.get(key, () -> {
+            loaded[0] = true;
+            return valueLoader.call();
+        }));
+        (loaded[0] ? misses : hits).increment();
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        record("put", () -> {
+            delegate.put(key, value);
+            return null;
+        });
+        puts.increment();
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = record("put", () -> delegate.putIfAbsent(key, value));
+        puts.increment();
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        record("evict", () -> {
+            delegate.evict(key);
+            return null;
+        });
+        evictions.increment();
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evicted = record("evict", () -> delegate.evictIfPresent(key));
+        evictions.increment();
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        record("clear", () -> {
+            delegate.clear();
+            return null;
+        });
+    }
+
+    @Override
+    public boolean invalidate() {
+        return record("clear", delegate::invalidate);
+    }
+
+    private <T> T record(String operation, Supplier<T> call) {
+        long start = System.nanoTime();
+        try {
+            return call.get();
+        } catch (RuntimeException e) {
+            errors.computeIfAbsent(operation, op -> Counter.builder("reservations.cache.errors")
+                    .tag("cache", getName()).tag("operation", op)
+                    .description("Operaciones de cache que lanzaron una excepción")
+                    .register(meterRegistry)).increment();
+            throw e;
+        } finally {
+            latencies.computeIfAbsent(operation, op -> Timer.builder("reservations.cache.latency")
+                    .tag("cache", getName()).tag("operation", op)
+                    .description("Latencia de las operaciones de cache")
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.cuidadodemascotas.microservice.cache;
+
+import org.springframework.data.redis.cache.RedisCacheWriter;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * TTL con variación aleatoria por entrada: base ± (base × jitter).
+ * Evita que las entradas escritas a la vez (p. ej. una página de findAll) expiren juntas
+ * y lleguen en bloque a la base de datos.
+ */
+public class JitteredTtlFunction implements RedisCacheWriter.TtlFunction {
+
+    private final Duration base;
+    private final double jitter;
+
+    /**
+     * @param base TTL nominal de la cache
+     * @param jitter Fracción de variación (0 = TTL fijo, 0.1 = ±10%)
+     */
+    public JitteredTtlFunction(Duration base, double jitter) {
+        if (jitter < 0 || jitter >= 1) {
+            throw new IllegalArgumentException("El jitter del TTL debe estar en [0, 1): " + jitter);
+        }
+        this.base = base;
+        this.jitter = jitter;
+    }
+
+    @Override
+    public Duration getTimeToLive(Object key, Object value) {
+        long spread = spreadMillis();
+        if (spread == 0) {
+            return base;
+        }
+        return base.minusMillis(spread).plusMillis(ThreadLocalRandom.current().nextLong(2 * spread + 1));
+    }
+
+    /**
+     * TTL máximo que puede recibir una entrada (p. ej. para estructuras que deben sobrevivirla)
+     */
+    public static Duration upperBound(RedisCacheWriter.TtlFunction ttlFunction) {
+        if (ttlFunction instanceof JitteredTtlFunction jittered) {
+            return jittered.base.plusMillis(jittered.spreadMillis());
+        }
+        return ttlFunction.getTimeToLive(null, null);
+    }
+
+    /**
+     * TTL mínimo que puede recibir una entrada (p. ej. para copias que nunca deben sobrevivirla)
+     */
+    public static Duration lowerBound(RedisCacheWriter.TtlFunction ttlFunction) {
+        if (ttlFunction instanceof JitteredTtlFunction jittered) {
+            return jittered.base.minusMillis(jittered.spreadMillis());
+        }
+        return ttlFunction.getTimeToLive(null, null);
+    }
+
+    private long spreadMillis() {
+        return (long) (base.toMillis() * jitter);
+    }
+}
@@ -0,0 +1,153 @@
+package com.cuidadodemascotas.microservice.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * Cache de dos niveles: L1 en memoria del proceso (Caffeine, acotada por tamaño y TTL)
+ * delante de la cache remota (Redis).
+ * Las lecturas se sirven desde L1 cuando es posible; las escrituras van a Redis, actualizan L1
+ * y publican una invalidación para que el resto de instancias descarte su copia local.
+ */
+@Slf4j
+public class NearCache implements Cache {
+
+    private final Cache remote;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Object> local;
+    private final NearCacheInvalidationBus invalidationBus;
+
+    public NearCache(Cache remote,
+                     com.github.benmanes.caffeine.cache.Cache<Object, Object> local,
+                     NearCacheInvalidationBus invalidationBus) {
+        this.remote = remote;
+        this.local = local;
+        this.invalidationBus = invalidationBus;
+    }
+
+    @Override
+    public String getName() {
+        return remote.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remote.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        Object localValue = local.getIfPresent(key);
+        if (localValue != null) {
+            log.debug("Hit L1 en cache {} para la clave {}", getName(), key);
+            return new SimpleValueWrapper(localValue);
+        }
+
+        ValueWrapper remoteValue = remote.get(key);
+        if (remoteValue != null && remoteValue.get() != null) {
+            local.put(key, remoteValue.get());
+        }
+        return remoteValue;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                    "El valor cacheado no es del tipo requerido [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object localValue = local.getIfPresent(key);
+        if (localValue != null) {
+            return (T) localValue;
+        }
+
+        T value = remote.get(key, valueLoader);
+        if (value != null) {
+            local.put(key, value);
+        }
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        remote.put(key, value);
+        if (value != null) {
+            local.put(key, value);
+        } else {
+            local.invalidate(key);
+        }
+        invalidationBus.publish(getName(), key);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = remote.putIfAbsent(key, value);
+        local.invalidate(key);
+        invalidationBus.publish(getName(), key);
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        remote.evict(key);
+        local.invalidate(key);
+        invalidationBus.publish(getName(), key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evicted = remote.evictIfPresent(key);
+        local.invalidate(key);
+        invalidationBus.publish(getName(), key);
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        local.invalidateAll();
+        invalidationBus.publish(getName(), null);
+    }
+
+    /**
+     * Descarta la copia local de una clave (invalidación recibida de otra instancia)
+     */
+    public void invalidateLocal(Object key) {
+        local.invalidate(key);
+    }
+
+    /**
+     * Descarta todas las copias locales (clear recibido de otra instancia)
+     */
+    public void clearLocal() {
+        local.invalidateAll();
+    }
+
+    /**
+     * Hasta limit entradas locales, las más usadas primero (política de Caffeine)
+     */
+    public Map<Object, Object> hottest(int limit) {
+        return local.policy().eviction()
+                .map(eviction -> eviction.hottest(limit))
+                .orElseGet(() -> Map.copyOf(local.asMap()));
+    }
+
+    /**
+     * Carga una copia local sin escribir en Redis ni publicar invalidaciones (restauración de snapshot)
+     */
+    public void preload(Object key, Object value) {
+        local.put(key, value);
+    }
+}
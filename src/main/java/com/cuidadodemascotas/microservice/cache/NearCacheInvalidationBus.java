@@ -0,0 +1,101 @@
+package com.cuidadodemascotas.microservice.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Difunde las invalidaciones de la cache L1 entre instancias mediante Redis Pub/Sub.
+ * Formato del mensaje: {@code instanceId|cacheName|key} (key vacía = clear de toda la cache).
+ */
+@Slf4j
+public class NearCacheInvalidationBus implements MessageListener {
+
+    public static final String CHANNEL = "reservations::near-cache-invalidation";
+
+    private static final String SEPARATOR = "|";
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisCircuitBreaker circuitBreaker;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final Map<String, NearCache> nearCaches = new ConcurrentHashMap<>();
+
+    public NearCacheInvalidationBus(StringRedisTemplate redisTemplate, RedisCircuitBreaker circuitBreaker) {
+        this.redisTemplate = redisTemplate;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    public void register(NearCache nearCache) {
+        nearCaches.put(nearCache.getName(), nearCache);
+        log.info("Cache L1 registrada para invalidación distribuida: {}", nearCache.getName());
+    }
+
+    /**
+     * Cache L1 registrada con ese nombre, o null
+     */
+    public NearCache nearCache(String cacheName) {
+        return nearCaches.get(cacheName);
+    }
+
+    /**
+     * Publica la invalidación de una clave (o de toda la cache si key es null)
+     */
+    public void publish(String cacheName, Object key) {
+        // Sin la difusión las demás instancias quedan acotadas por el TTL de L1
+        if (!circuitBreaker.allowRequest()) {
+            return;
+        }
+        try {
+            redisTemplate.convertAndSend(CHANNEL, message(cacheName, key));
+            circuitBreaker.onSuccess();
+        } catch (Exception e) {
+            log.warn("No se pudo publicar la invalidación L1 de {}::{}: {}", cacheName, key, e.getMessage());
+            circuitBreaker.onFailure(e);
+        }
+    }
+
+    /**
+     * Mensaje de invalidación, para quien publique por su cuenta (p. ej. dentro de un pipeline)
+     */
+    public String message(String cacheName, Object key) {
+        return instanceId + SEPARATOR + cacheName + SEPARATOR + (key != null ? key : "");
+    }
+
+    /**
+     * Descarta la copia L1 de esta instancia para una clave escrita fuera de NearCache
+     */
+    public void invalidateLocally(String cacheName, Object key) {
+        NearCache nearCache = nearCaches.get(cacheName);
+        if (nearCache != null) {
+            nearCache.invalidateLocal(key);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        String[] parts = body.split("\\|", 3);
+        if (parts.length < 3 || instanceId.equals(parts[0])) {
+            return;
+        }
+
+        NearCache nearCache = nearCaches.get(parts[1]);
+        if (nearCache == null) {
+            return;
+        }
+
+        if (parts[2].isEmpty()) {
+            nearCache.clearLocal();
+            log.debug("Cache L1 {} vaciada por invalidación remota", parts[1]);
+        } else {
+            nearCache.invalidateLocal(parts[2]);
+            log.debug("Clave {} invalidada en L1 {} por invalidación remota", parts[2], parts[1]);
+        }
+    }
+}
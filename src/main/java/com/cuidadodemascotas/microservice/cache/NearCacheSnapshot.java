@@ -0,0 +1,285 @@
+package com.cuidadodemascotas.microservice.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.util.ByteUtils;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.zip.CRC32;
+
+/**
+ * Snapshot en disco de las caches L1 (near cache) de reservations y reservation_services.
+ * Al cerrar el contexto de forma ordenada escribe las entradas más usadas en un fichero de
+ * segmento; al arrancar lo mapea en memoria y recarga L1 sin esperar a que el tráfico la llene.
+ *
+ * Formato: [MAGIC][versión de esquema][creado (epoch ms)][CRC32 del cuerpo][longitud del cuerpo]
+ * y por cache [nombre][n.º de entradas][(clave, valor serializado con la configuración de Redis)...].
+ * El fichero se descarta si no coincide el esquema, supera la antigüedad máxima o está corrupto.
+ *
+ * Solo se guardan valores con versión y, al restaurar, solo se cargan los que siguen teniendo
+ * la misma versión en Redis: un snapshot nunca reintroduce datos modificados durante el reinicio.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "cache.near.enabled", havingValue = "true")
+public class NearCacheSnapshot {
+
+    private static final int MAGIC = 0x52534E50;
+    private static final int SCHEMA_VERSION = 1;
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 4 + 4;
+    private static final List<String> CACHES = List.of("reservations", "reservation_services");
+
+    private final ApplicationContext applicationContext;
+    private final CacheManager cacheManager;
+    private final NearCacheInvalidationBus invalidationBus;
+    private final BulkCacheOperations bulkCacheOperations;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisCircuitBreaker circuitBreaker;
+
+    private final boolean enabled;
+    private final Path path;
+    private final Duration maxAge;
+    private final int maxEntries;
+
+    public NearCacheSnapshot(ApplicationContext applicationContext,
+                             CacheManager cacheManager,
+                             NearCacheInvalidationBus invalidationBus,
+                             BulkCacheOperations bulkCacheOperations,
+                             StringRedisTemplate redisTemplate,
+                             RedisCircuitBreaker circuitBreaker,
+                             @Value("${cache.near.snapshot.enabled:true}") boolean enabled,
+                             @Value("${cache.near.snapshot.path:${java.io.tmpdir}/reservations-near-cache.snapshot}") Path path,
+                             @Value("${cache.near.snapshot.max-age:PT10M}") Duration maxAge,
+                             @Value("${cache.near.snapshot.max-entries:5000}") int maxEntries) {
+        this.applicationContext = applicationContext;
+        this.cacheManager = cacheManager;
+        this.invalidationBus = invalidationBus;
+        this.bulkCacheOperations = bulkCacheOperations;
+        this.redisTemplate = redisTemplate;
+        this.circuitBreaker = circuitBreaker;
+        this.enabled = enabled;
+        this.path = path;
+        this.maxAge = maxAge;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Cierre ordenado: escribe el snapshot en un fichero temporal y lo renombra de forma atómica
+     */
+    @EventListener
+    public void onContextClosed(ContextClosedEvent event) {
+        // Los contextos hijos (p. ej. de Spring Cloud) también publican el evento
+        if (!enabled || event.getApplicationContext() != applicationContext) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            ByteArrayOutputStream body = new ByteArrayOutputStream(64 * 1024);
+            int total = 0;
+            try (DataOutputStream out = new DataOutputStream(body)) {
+                for (String cacheName : CACHES) {
+                    total += writeSection(out, cacheName);
+                }
+            }
+            byte[] bodyBytes = body.toByteArray();
+            CRC32 crc = new CRC32();
+            crc.update(bodyBytes);
+
+            Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+            try (OutputStream file = new BufferedOutputStream(Files.newOutputStream(tmp));
+                 DataOutputStream out = new DataOutputStream(file)) {
+                out.writeInt(MAGIC);
+                out.writeInt(SCHEMA_VERSION);
+                out.writeLong(System.currentTimeMillis());
+                out.writeInt((int) crc.getValue());
+                out.writeInt(bodyBytes.length);
+                out.write(bodyBytes);
+            }
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Snapshot de cache L1 escrito en {}: {} entradas, {} bytes ({} ms)",
+                    path, total, HEADER_BYTES + bodyBytes.length, (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception e) {
+            log.warn("No se pudo escribir el snapshot de cache L1 en {}: {}", path, e.getMessage());
+        }
+    }
+
+    /**
+     * Arranque: mapea el snapshot, valida cabecera, antigüedad y CRC, y recarga L1
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled || !Files.isRegularFile(path)) {
+            return;
+        }
+        long start = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            String invalid = validate(buffer);
+            if (invalid != null) {
+                log.info("Snapshot de cache L1 descartado ({}): {}", path, invalid);
+                return;
+            }
+            if (!circuitBreaker.allowRequest()) {
+                log.info("Snapshot de cache L1 no restaurado: Redis no está disponible para validar versiones");
+                return;
+            }
+
+            int restored = 0;
+            int stale = 0;
+            while (buffer.hasRemaining()) {
+                String cacheName = readString(buffer);
+                int count = buffer.getInt();
+                List<Map.Entry<String, Object>> entries = readEntries(buffer, cacheName, count);
+                List<Map.Entry<String, Object>> current = stillCurrent(cacheName, entries);
+                // Fuerza la creación (y el registro) de la NearCache de esa cache
+                cacheManager.getCache(cacheName);
+                NearCache nearCache = invalidationBus.nearCache(cacheName);
+                if (nearCache == null) {
+                    continue;
+                }
+                current.forEach(entry -> nearCache.preload(entry.getKey(), entry.getValue()));
+                restored += current.size();
+                stale += entries.size() - current.size();
+            }
+            log.info("Cache L1 restaurada desde {}: {} entradas ({} descartadas por versión) en {} ms",
+                    path, restored, stale, (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception e) {
+            log.warn("No se pudo restaurar el snapshot de cache L1 desde {}: {}", path, e.getMessage());
+        } finally {
+            // Un snapshot solo se usa una vez: el siguiente cierre ordenado escribe uno nuevo
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                log.debug("No se pudo borrar el snapshot {}: {}", path, e.getMessage());
+            }
+        }
+    }
+
+    private int writeSection(DataOutputStream out, String cacheName) throws IOException {
+        NearCache nearCache = invalidationBus.nearCache(cacheName);
+        RedisCacheConfiguration config = bulkCacheOperations.cacheConfiguration(cacheName);
+        List<Map.Entry<String, byte[]>> entries = new ArrayList<>();
+        if (nearCache != null) {
+            nearCache.hottest(maxEntries).forEach((key, value) -> {
+                if (key instanceof String stringKey && VersionedCacheWrites.versionOf(value) != null) {
+                    entries.add(Map.entry(stringKey, ByteUtils.getBytes(config.getValueSerializationPair().write(value))));
+                }
+            });
+        }
+
+        writeString(out, cacheName);
+        out.writeInt(entries.size());
+        for (Map.Entry<String, byte[]> entry : entries) {
+            writeString(out, entry.getKey());
+            out.writeInt(entry.getValue().length);
+            out.write(entry.getValue());
+        }
+        return entries.size();
+    }
+
+    private String validate(MappedByteBuffer buffer) {
+        if (buffer.remaining() < HEADER_BYTES || buffer.getInt() != MAGIC) {
+            return "formato desconocido";
+        }
+        int schema = buffer.getInt();
+        if (schema != SCHEMA_VERSION) {
+            return "versión de esquema " + schema + ", se esperaba " + SCHEMA_VERSION;
+        }
+        long age = System.currentTimeMillis() - buffer.getLong();
+        if (age > maxAge.toMillis()) {
+            return "antigüedad " + Duration.ofMillis(age) + " mayor que " + maxAge;
+        }
+        int expectedCrc = buffer.getInt();
+        int bodyLength = buffer.getInt();
+        if (bodyLength != buffer.remaining()) {
+            return "fichero truncado";
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice());
+        if ((int) crc.getValue() != expectedCrc) {
+            return "CRC incorrecto";
+        }
+        return null;
+    }
+
+    private List<Map.Entry<String, Object>> readEntries(ByteBuffer buffer, String cacheName, int count) {
+        RedisCacheConfiguration config = bulkCacheOperations.cacheConfiguration(cacheName);
+        List<Map.Entry<String, Object>> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String key = readString(buffer);
+            int length = buffer.getInt();
+            ByteBuffer value = buffer.slice(buffer.position(), length);
+            buffer.position(buffer.position() + length);
+            Object decoded = config.getValueSerializationPair().read(value);
+            if (decoded != null) {
+                entries.add(Map.entry(key, decoded));
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Entradas cuya versión coincide con la clave de versión actual en Redis (un pipeline de GET)
+     */
+    private List<Map.Entry<String, Object>> stillCurrent(String cacheName, List<Map.Entry<String, Object>> entries) {
+        if (entries.isEmpty()) {
+            return entries;
+        }
+        RedisCacheConfiguration config = bulkCacheOperations.cacheConfiguration(cacheName);
+        List<Object> versions = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (Map.Entry<String, Object> entry : entries) {
+                connection.stringCommands().get(bulkCacheOperations.serializeKey(config, cacheName,
+                        entry.getKey() + VersionedCacheWrites.VERSION_SUFFIX));
+            }
+            return null;
+        });
+
+        List<Map.Entry<String, Object>> current = new ArrayList<>(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            Long version = VersionedCacheWrites.versionOf(entries.get(i).getValue());
+            if (version != null && Objects.equals(version.toString(), versions.get(i))) {
+                current.add(entries.get(i));
+            }
+        }
+        return current;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,79 @@
+package com.cuidadodemascotas.microservice.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache negativa de TTL corto: recuerda los IDs que no existen (o están eliminados) para que
+ * las consultas repetidas de escáneres o clientes desactualizados no lleguen a la base de datos.
+ * Los errores de Redis se ignoran: en el peor caso la consulta va a la base de datos.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NotFoundCache {
+
+    public static final String CACHE_NAME = "reservation_misses";
+
+    private final CacheManager cacheManager;
+    private final BulkCacheOperations bulkCacheOperations;
+
+    public boolean isKnownMissing(String keyspace, Long id) {
+        try {
+            return Boolean.TRUE.equals(cache().get(key(keyspace, id), Boolean.class));
+        } catch (Exception e) {
+            log.debug("No se pudo consultar la cache negativa {}: {}", keyspace, e.getMessage());
+            return false;
+        }
+    }
+
+    public void markMissing(String keyspace, Long id) {
+        try {
+            cache().put(key(keyspace, id), Boolean.TRUE);
+        } catch (Exception e) {
+            log.debug("No se pudo registrar {}::{} en la cache negativa: {}", keyspace, id, e.getMessage());
+        }
+    }
+
+    /**
+     * Registra varios IDs recién borrados en un solo pipeline, tras el commit del borrado
+     */
+    public void markAllMissing(String keyspace, Collection<Long> ids) {
+        Map<String, Boolean> entries = new LinkedHashMap<>();
+        ids.forEach(id -> entries.put(key(keyspace, id), Boolean.TRUE));
+        bulkCacheOperations.putAllAfterCommit(CACHE_NAME, entries);
+    }
+
+    /**
+     * Olvida un ID que acaba de crearse (pudo consultarse antes de existir)
+     */
+    public void forget(String keyspace, Long id) {
+        try {
+            cache().evict(key(keyspace, id));
+        } catch (Exception e) {
+            log.warn("No se pudo quitar {}::{} de la cache negativa: {}", keyspace, id, e.getMessage());
+        }
+    }
+
+    /**
+     * Olvida varios IDs recién creados en un solo pipeline
+     */
+    public void forgetAll(String keyspace, Collection<Long> ids) {
+        bulkCacheOperations.evictAll(CACHE_NAME, ids.stream().map(id -> key(keyspace, id)).toList());
+    }
+
+    private Cache cache() {
+        return cacheManager.getCache(CACHE_NAME);
+    }
+
+    private static String key(String keyspace, Long id) {
+        return keyspace + "_" + id;
+    }
+}
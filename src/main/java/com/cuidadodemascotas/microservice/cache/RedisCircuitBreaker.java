@@ -0,0 +1,165 @@
+package com.cuidadodemascotas.microservice.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Circuit breaker compartido por todos los accesos a Redis.
+ * Tras varios fallos consecutivos se abre: las lecturas se tratan como miss y las escrituras se
+ * omiten, sin esperar timeouts. Un sondeo periódico (PING) detecta la recuperación.
+ *
+ * Las invalidaciones que no pudieron aplicarse se guardan (acotadas) y se reaplican antes de
+ * volver a servir desde la cache; si se desbordan, se vacían las caches.
+ */
+@Slf4j
+@Component
+public class RedisCircuitBreaker {
+
+    private final RedisConnectionFactory connectionFactory;
+    private final int failureThreshold;
+    private final int maxDeferred;
+    private final Counter shortCircuited;
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile boolean open;
+
+    private final Map<String, Runnable> deferred = new LinkedHashMap<>();
+    private boolean deferredOverflow;
+    private final List<Runnable> overflowHandlers = new CopyOnWriteArrayList<>();
+
+    public RedisCircuitBreaker(RedisConnectionFactory connectionFactory,
+                               MeterRegistry meterRegistry,
+                               @Value("${cache.breaker.failure-threshold:5}") int failureThreshold,
+                               @Value("${cache.breaker.max-deferred-invalidations:1000}") int maxDeferred) {
+        this.connectionFactory = connectionFactory;
+        this.failureThreshold = failureThreshold;
+        this.maxDeferred = maxDeferred;
+        this.shortCircuited = Counter.builder("reservations.cache.breaker.short_circuited")
+                .description("Operaciones de cache omitidas con el circuito abierto")
+                .register(meterRegistry);
+        Gauge.builder("reservations.cache.breaker.open", this, breaker -> breaker.open ? 1 : 0)
+                .description("1 si el circuito de Redis está abierto")
+                .register(meterRegistry);
+    }
+
+    /**
+     * true si se puede usar Redis; si no, cuenta la operación como omitida
+     */
+    public boolean allowRequest() {
+        if (open) {
+            shortCircuited.increment();
+            return false;
+        }
+        return true;
+    }
+
+    public void onSuccess() {
+        consecutiveFailures.set(0);
+    }
+
+    public void onFailure(Exception e) {
+        if (consecutiveFailures.incrementAndGet() >= failureThreshold && !open) {
+            open = true;
+            log.warn("Circuito de Redis ABIERTO tras {} fallos consecutivos (último: {}). "
+                    + "La cache se omite hasta que Redis responda.", failureThreshold, e.getMessage());
+        }
+    }
+
+    /**
+     * Guarda una invalidación que no pudo aplicarse para reaplicarla en el próximo sondeo con
+     * Redis disponible (deduplicada por clave). La acción debe lanzar excepción si falla.
+     */
+    public void defer(String dedupKey, Runnable action) {
+        synchronized (deferred) {
+            if (deferred.size() < maxDeferred || deferred.containsKey(dedupKey)) {
+                deferred.put(dedupKey, action);
+            } else {
+                deferredOverflow = true;
+            }
+        }
+    }
+
+    /**
+     * Acción a ejecutar en la recuperación si se perdieron invalidaciones (p. ej. vaciar caches)
+     */
+    public void onDeferredOverflow(Runnable handler) {
+        overflowHandlers.add(handler);
+    }
+
+    /**
+     * Sondeo periódico mientras el circuito está abierto o quedan invalidaciones pendientes
+     */
+    @Scheduled(fixedDelayString = "${cache.breaker.probe-interval:PT2S}")
+    public void probe() {
+        synchronized (deferred) {
+            if (!open && deferred.isEmpty() && !deferredOverflow) {
+                return;
+            }
+        }
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.ping();
+        } catch (Exception e) {
+            log.debug("Redis sigue sin responder: {}", e.getMessage());
+            return;
+        }
+
+        try {
+            replayDeferred();
+        } catch (Exception e) {
+            log.warn("Fallo al reaplicar invalidaciones pendientes, se reintentará en el próximo sondeo: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Reaplica las invalidaciones pendientes y cierra el circuito solo cuando no queda ninguna
+     */
+    private void replayDeferred() {
+        while (true) {
+            List<Map.Entry<String, Runnable>> batch;
+            boolean overflow;
+            synchronized (deferred) {
+                if (deferred.isEmpty() && !deferredOverflow) {
+                    consecutiveFailures.set(0);
+                    if (open) {
+                        open = false;
+                        log.info("Circuito de Redis CERRADO: Redis vuelve a responder");
+                    }
+                    return;
+                }
+                batch = new ArrayList<>();
+                deferred.forEach((key, action) -> batch.add(Map.entry(key, action)));
+                overflow = deferredOverflow;
+            }
+
+            if (overflow) {
+                log.warn("Se perdieron invalidaciones con Redis caído; se vacían las caches");
+                overflowHandlers.forEach(Runnable::run);
+            }
+            for (Map.Entry<String, Runnable> entry : batch) {
+                entry.getValue().run();
+            }
+
+            synchronized (deferred) {
+                batch.forEach(entry -> deferred.remove(entry.getKey(), entry.getValue()));
+                if (overflow) {
+                    deferredOverflow = false;
+                }
+            }
+            log.info("{} invalidaciones pendientes reaplicadas en Redis", batch.size());
+        }
+    }
+}
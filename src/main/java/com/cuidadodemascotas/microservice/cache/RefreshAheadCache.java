@@ -0,0 +1,183 @@
+package com.cuidadodemascotas.microservice.cache;
+
+import com.cuidadodemascotas.microservice.exception.ResourceNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.util.ByteUtils;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Refresco anticipado probabilístico (XFetch) sobre una cache de Redis.
+ * Cada lectura de una clave con loader registrado obtiene valor y TTL restante en un único
+ * pipeline (GET + PTTL). La entrada se recarga en segundo plano, antes de expirar, cuando
+ *
+ *   ttlRestante <= delta × beta × -ln(aleatorio)
+ *
+ * donde delta es el tiempo de recálculo observado (con un mínimo configurable). Solo las claves
+ * leídas con frecuencia cerca de su expiración se refrescan; las frías simplemente expiran.
+ */
+@Slf4j
+public class RefreshAheadCache implements Cache {
+
+    private final VersionedCache remote;
+    private final StringRedisTemplate redisTemplate;
+    private final RefreshAheadLoaders loaders;
+    private final TaskExecutor refreshExecutor;
+    private final double beta;
+    private final long minDeltaMillis;
+
+    private final Set<Object> refreshing = ConcurrentHashMap.newKeySet();
+    // Media móvil del tiempo de recálculo (ms)
+    private volatile double averageLoadMillis;
+
+    public RefreshAheadCache(VersionedCache remote, StringRedisTemplate redisTemplate, RefreshAheadLoaders loaders,
+                             TaskExecutor refreshExecutor, double beta, Duration minDelta) {
+        this.remote = remote;
+        this.redisTemplate = redisTemplate;
+        this.loaders = loaders;
+        this.refreshExecutor = refreshExecutor;
+        this.beta = beta;
+        this.minDeltaMillis = minDelta.toMillis();
+    }
+
+    @Override
+    public String getName() {
+        return remote.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remote.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        Supplier<Object> loader = loaders.find(getName(), key);
+        if (loader == null) {
+            return remote.get(key);
+        }
+
+        RedisCacheConfiguration config = remote.getCacheConfiguration();
+        String fullKey = config.usePrefix() ? config.getKeyPrefixFor(getName()) + key : key.toString();
+        byte[] rawKey = ByteUtils.getBytes(config.getKeySerializationPair().write(fullKey));
+
+        List<Object> results;
+        try {
+            results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                connection.stringCommands().get(rawKey);
+                connection.keyCommands().pTtl(rawKey);
+                return null;
+            }, RedisSerializer.byteArray());
+        } catch (Exception e) {
+            log.debug("Lectura con TTL fallida en {}, se usa la lectura simple: {}", getName(), e.getMessage());
+            return remote.get(key);
+        }
+
+        if (!(results.get(0) instanceof byte[] rawValue)) {
+            return null;
+        }
+        Object value = config.getValueSerializationPair().read(ByteBuffer.wrap(rawValue));
+
+        if (results.get(1) instanceof Long remainingMillis && remainingMillis > 0 && shouldRefresh(remainingMillis)) {
+            scheduleRefresh(key, loader);
+        }
+        return value != null ? new SimpleValueWrapper(value) : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                    "El valor cacheado no es del tipo requerido [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return remote.get(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        remote.put(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return remote.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        remote.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return remote.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+    }
+
+    private boolean shouldRefresh(long remainingMillis) {
+        double delta = Math.max(averageLoadMillis, minDeltaMillis);
+        double random = ThreadLocalRandom.current().nextDouble();
+        return remainingMillis <= delta * beta * -Math.log(random);
+    }
+
+    /**
+     * Recarga la clave fuera del hilo de la petición; como mucho un refresco en curso por clave.
+     * Si el executor está saturado el refresco se descarta y la entrada expira con normalidad.
+     */
+    private void scheduleRefresh(Object key, Supplier<Object> loader) {
+        if (!refreshing.add(key)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> refresh(key, loader));
+        } catch (RuntimeException e) {
+            refreshing.remove(key);
+        }
+    }
+
+    private void refresh(Object key, Supplier<Object> loader) {
+        long start = System.nanoTime();
+        try {
+            Object value = loader.get();
+            if (value != null) {
+                remote.put(key, value);
+            }
+            double elapsed = (System.nanoTime() - start) / 1_000_000.0;
+            averageLoadMillis = averageLoadMillis == 0 ? elapsed : averageLoadMillis * 0.8 + elapsed * 0.2;
+            log.debug("Entrada {}::{} refrescada anticipadamente ({} ms)", getName(), key, (long) elapsed);
+        } catch (ResourceNotFoundException e) {
+            remote.evict(key);
+            log.debug("Entrada {}::{} ya no existe, se elimina de la cache", getName(), key);
+        } catch (Exception e) {
+            log.warn("No se pudo refrescar la entrada {}::{}: {}", getName(), key, e.getMessage());
+        } finally {
+            refreshing.remove(key);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.cuidadodemascotas.microservice.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Registro de loaders para el refresco anticipado de entradas de cache.
+ * Cada servicio registra, por cache y prefijo de clave (p. ej. "byId_"), la función que
+ * recalcula el valor a partir del resto de la clave.
+ */
+@Slf4j
+@Component
+public class RefreshAheadLoaders {
+
+    private final Map<String, Map<String, Function<String, Object>>> loaders = new ConcurrentHashMap<>();
+
+    public void register(String cacheName, String keyPrefix, Function<String, Object> loader) {
+        loaders.computeIfAbsent(cacheName, name -> new ConcurrentHashMap<>()).put(keyPrefix, loader);
+        log.info("Loader de refresco anticipado registrado: {}::{}", cacheName, keyPrefix);
+    }
+
+    /**
+     * Loader ya aplicado a la clave, o null si la clave no admite refresco anticipado
+     */
+    public Supplier<Object> find(String cacheName, Object key) {
+        Map<String, Function<String, Object>> byPrefix = loaders.get(cacheName);
+        if (byPrefix == null) {
+            return null;
+        }
+        String stringKey = key.toString();
+        for (Map.Entry<String, Function<String, Object>> entry : byPrefix.entrySet()) {
+            if (stringKey.startsWith(entry.getKey())) {
+                String argument = stringKey.substring(entry.getKey().length());
+                return () -> entry.getValue().apply(argument);
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,218 @@
+package com.cuidadodemascotas.microservice.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cache de respuestas ya serializadas para los GET por ID.
+ * Junto a cada entrada versionada ("<clave>::http") se guarda un HASH con el cuerpo JSON final
+ * y, si supera un umbral, su variante gzip. En un acierto los bytes se devuelven tal cual al
+ * servlet, sin deserializar el DTO ni volver a serializarlo con Jackson.
+ *
+ * El cuerpo solo se escribe si su versión es exactamente la de la entrada (sin entrada o con
+ * lápida no se escribe), y los scripts de {@link VersionedCacheWrites} lo borran en cada cambio
+ * de versión o desalojo: nunca sobrevive a un update ni a un delete.
+ */
+@Slf4j
+@Component
+public class ResponseBodyCache {
+
+    private static final byte[] JSON_FIELD = "json".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] GZIP_FIELD = "gzip".getBytes(StandardCharsets.UTF_8);
+
+    private static final String STORE_SCRIPT = """
+            local current = redis.call('GET', KEYS[2])
+            if current ~= ARGV[1] then
+              return 0
+            end
+            redis.call('DEL', KEYS[1])
+            redis.call('HSET', KEYS[1], 'json', ARGV[3])
+            if ARGV[4] ~= '' then
+              redis.call('HSET', KEYS[1], 'gzip', ARGV[4])
+            end
+            if tonumber(ARGV[2]) > 0 then
+              redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            end
+            return 1
+            """;
+
+    private final StringRedisTemplate redisTemplate;
+    private final BulkCacheOperations bulkCacheOperations;
+    private final RedisCircuitBreaker circuitBreaker;
+    private final ObjectMapper objectMapper;
+    private final TaskExecutor cacheWriteExecutor;
+    private final MeterRegistry meterRegistry;
+    private final HotKeyTracker hotKeyTracker;
+    private final boolean enabled;
+    private final int gzipMinBytes;
+
+    public ResponseBodyCache(StringRedisTemplate redisTemplate,
+                             BulkCacheOperations bulkCacheOperations,
+                             RedisCircuitBreaker circuitBreaker,
+                             ObjectMapper objectMapper,
+                             @Qualifier("cacheWriteExecutor") TaskExecutor cacheWriteExecutor,
+                             MeterRegistry meterRegistry,
+                             HotKeyTracker hotKeyTracker,
+                             @Value("${cache.response-bytes.enabled:true}") boolean enabled,
+                             @Value("${cache.response-bytes.gzip-min-bytes:512}") int gzipMinBytes) {
+        this.redisTemplate = redisTemplate;
+        this.bulkCacheOperations = bulkCacheOperations;
+        this.circuitBreaker = circuitBreaker;
+        this.objectMapper = objectMapper;
+        this.cacheWriteExecutor = cacheWriteExecutor;
+        this.meterRegistry = meterRegistry;
+        this.hotKeyTracker = hotKeyTracker;
+        this.enabled = enabled;
+        this.gzipMinBytes = gzipMinBytes;
+    }
+
+    /**
+     * Cuerpo listo para enviar (JSON o JSON gzip)
+     */
+    public record CachedBody(byte[] body, boolean gzip) {
+
+        public ResponseEntity<byte[]> toResponse() {
+            ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            if (gzip) {
+                builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+            }
+            return builder.body(body);
+        }
+    }
+
+    public static boolean acceptsGzip(String acceptEncoding) {
+        return acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+    }
+
+    /**
+     * Devuelve el cuerpo cacheado de la clave o, en un fallo, lo obtiene del loader (que aplica
+     * las mismas validaciones y caches que el servicio), lo serializa y lo guarda en segundo plano.
+     */
+    public CachedBody get(String cacheName, String key, boolean acceptsGzip, Supplier<Object> loader) {
+        if (!enabled) {
+            return new CachedBody(toJson(loader.get()), false);
+        }
+
+        RedisCacheConfiguration config = bulkCacheOperations.cacheConfiguration(cacheName);
+        byte[] rawKey = bulkCacheOperations.serializeKey(config, cacheName, key);
+        byte[] responseKey = VersionedCacheWrites.withSuffix(rawKey, VersionedCacheWrites.RESPONSE_SUFFIX);
+
+        CachedBody cached = lookup(cacheName, responseKey, acceptsGzip);
+        if (cached != null) {
+            counter(cacheName, "hit").increment();
+            // Un acierto aquí no pasa por la cache; en un fallo el loader ya registra la lectura
+            hotKeyTracker.record(cacheName, key);
+            return cached;
+        }
+        counter(cacheName, "miss").increment();
+
+        Object value = loader.get();
+        byte[] json = toJson(value);
+        Long version = VersionedCacheWrites.versionOf(value);
+        if (version != null) {
+            Duration ttl = config.getTtlFunction().getTimeToLive(key, value);
+            byte[] versionKey = VersionedCacheWrites.withSuffix(rawKey, VersionedCacheWrites.VERSION_SUFFIX);
+            try {
+                cacheWriteExecutor.execute(() -> store(cacheName, responseKey, versionKey, version, ttl, json));
+            } catch (RuntimeException e) {
+                log.debug("Cola de escritura llena, no se cachea la respuesta de {}::{}", cacheName, key);
+            }
+        }
+        return new CachedBody(json, false);
+    }
+
+    /**
+     * Un HMGET de ambas variantes: gzip si el cliente la acepta y existe, si no JSON
+     */
+    private CachedBody lookup(String cacheName, byte[] responseKey, boolean acceptsGzip) {
+        if (!circuitBreaker.allowRequest()) {
+            return null;
+        }
+        try {
+            List<byte[]> variants = redisTemplate.execute((RedisCallback<List<byte[]>>) connection ->
+                    connection.hashCommands().hMGet(responseKey, JSON_FIELD, GZIP_FIELD));
+            circuitBreaker.onSuccess();
+            if (variants == null || variants.isEmpty()) {
+                return null;
+            }
+            if (acceptsGzip && variants.size() > 1 && variants.get(1) != null) {
+                return new CachedBody(variants.get(1), true);
+            }
+            return variants.get(0) != null ? new CachedBody(variants.get(0), false) : null;
+        } catch (Exception e) {
+            log.warn("No se pudo leer la respuesta cacheada de {}: {}", cacheName, e.getMessage());
+            circuitBreaker.onFailure(e);
+            return null;
+        }
+    }
+
+    private void store(String cacheName, byte[] responseKey, byte[] versionKey, long version,
+                       Duration ttl, byte[] json) {
+        if (!circuitBreaker.allowRequest()) {
+            return;
+        }
+        byte[] gzip = json.length >= gzipMinBytes ? gzip(json) : new byte[0];
+        long ttlMillis = ttl == null || ttl.isNegative() ? 0 : ttl.toMillis();
+        try {
+            redisTemplate.execute((RedisCallback<Object>) connection -> connection.scriptingCommands().eval(
+                    STORE_SCRIPT.getBytes(StandardCharsets.UTF_8), ReturnType.INTEGER, 2,
+                    responseKey, versionKey,
+                    VersionedCacheWrites.ascii(version), VersionedCacheWrites.ascii(ttlMillis), json, gzip));
+            circuitBreaker.onSuccess();
+        } catch (Exception e) {
+            log.warn("No se pudo cachear la respuesta de {}: {}", cacheName, e.getMessage());
+            circuitBreaker.onFailure(e);
+        }
+    }
+
+    /**
+     * Mismo ObjectMapper que Spring MVC: el cuerpo cacheado es idéntico al que se serializaría
+     */
+    private byte[] toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar la respuesta", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 2 + 32);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private Counter counter(String cacheName, String result) {
+        return Counter.builder("reservations.cache.gets").tag("cache", cacheName + ".http").tag("result", result)
+                .register(meterRegistry);
+    }
+}
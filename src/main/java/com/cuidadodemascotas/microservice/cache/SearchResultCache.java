@@ -0,0 +1,111 @@
+package com.cuidadodemascotas.microservice.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Cache de resultados de búsqueda/listado guardados como listas ordenadas de IDs.
+ * La clave combina la búsqueda normalizada con las generaciones de los ámbitos de los que
+ * depende ({@link CacheGenerations}); los DTOs se hidratan desde la cache de entidades con un
+ * único MGET y solo los IDs ausentes se cargan de la base de datos.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SearchResultCache {
+
+    public static final String CACHE_NAME = "reservation_searches";
+
+    private final CacheManager cacheManager;
+    private final CacheGenerations cacheGenerations;
+    private final BulkCacheOperations bulkCacheOperations;
+
+    /**
+     * @param searchKey Búsqueda normalizada (filtros + página + orden)
+     * @param scopes Ámbitos de generación de los que depende el resultado
+     * @param entityCache Cache con las entradas individuales "byId_"
+     * @param idOf Extrae el ID de un DTO
+     * @param loadByIds Carga de la base de datos los DTOs que falten en la cache de entidades
+     * @param loader Consulta original, usada en un miss
+     */
+    public <T> Page<T> getOrLoad(String searchKey, List<String> scopes, Pageable pageable,
+                                 String entityCache, Function<T, Long> idOf,
+                                 Function<List<Long>, List<T>> loadByIds,
+                                 Supplier<Page<T>> loader) {
+        // Las generaciones se leen ANTES de consultar la base de datos
+        List<Long> generations = cacheGenerations.current(scopes);
+        if (generations == null) {
+            return loader.get();
+        }
+
+        String key = searchKey + "|g=" + generations;
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        CachedIdPage cached = cache.get(key, CachedIdPage.class);
+
+        if (cached != null) {
+            List<T> content = hydrate(cached.ids(), entityCache, idOf, loadByIds);
+            if (content != null) {
+                log.debug("Búsqueda servida desde cache: {} ({} elementos)", key, content.size());
+                return new PageImpl<>(content, pageable, cached.totalElements());
+            }
+            log.debug("Búsqueda cacheada con IDs ya inexistentes, se recarga: {}", key);
+        }
+
+        Page<T> page = loader.get();
+        List<Long> ids = page.getContent().stream().map(idOf).toList();
+        cache.put(key, new CachedIdPage(ids, page.getTotalElements()));
+        cacheEntities(entityCache, page.getContent(), idOf);
+        return page;
+    }
+
+    /**
+     * Reconstruye la página en el orden original. Devuelve null si algún ID ya no existe
+     * (escrito por otro servicio), para que el resultado se recalcule.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> List<T> hydrate(List<Long> ids, String entityCache, Function<T, Long> idOf,
+                                Function<List<Long>, List<T>> loadByIds) {
+        Map<String, Object> found = bulkCacheOperations.getAll(entityCache,
+                ids.stream().map(id -> "byId_" + id).toList());
+
+        List<Long> missing = ids.stream().filter(id -> !found.containsKey("byId_" + id)).toList();
+        Map<Long, T> loaded = new LinkedHashMap<>();
+        if (!missing.isEmpty()) {
+            List<T> fromDatabase = loadByIds.apply(missing);
+            fromDatabase.forEach(dto -> loaded.put(idOf.apply(dto), dto));
+            cacheEntities(entityCache, fromDatabase, idOf);
+        }
+
+        List<T> content = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            T dto = (T) found.get("byId_" + id);
+            if (dto == null) {
+                dto = loaded.get(id);
+            }
+            if (dto == null) {
+                return null;
+            }
+            content.add(dto);
+        }
+        return content;
+    }
+
+    private <T> void cacheEntities(String entityCache, List<T> dtos, Function<T, Long> idOf) {
+        Map<String, T> entries = new LinkedHashMap<>();
+        dtos.forEach(dto -> entries.put("byId_" + idOf.apply(dto), dto));
+        bulkCacheOperations.putAllAsync(entityCache, entries);
+    }
+}
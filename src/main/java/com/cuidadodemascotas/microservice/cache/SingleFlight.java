@@ -0,0 +1,102 @@
+package com.cuidadodemascotas.microservice.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Coalescencia de cargas concurrentes por clave (single-flight).
+ * Cuando varias peticiones fallan la cache para la misma clave a la vez, solo la primera
+ * ejecuta el loader contra la base de datos; las demás esperan y reciben su resultado
+ * (o su excepción, p. ej. ResourceNotFoundException).
+ *
+ * El loader no debe ejecutarse dentro de una transacción abierta por el llamador: si no,
+ * cada petición en espera retendría una conexión del pool mientras espera.
+ * La espera está acotada por cache.singleflight.wait-timeout; al agotarse, la petición
+ * ejecuta su propia carga en lugar de seguir bloqueada.
+ *
+ * Todas las llamadas coalescidas reciben la misma instancia (DTO o Page): los llamadores
+ * no deben modificarla, igual que ocurre con los valores servidos desde la cache L1.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SingleFlight {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${cache.singleflight.wait-timeout:PT5S}")
+    private Duration waitTimeout;
+
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Counter> loadCounters = new ConcurrentHashMap<>();
+    private final Map<String, Counter> coalescedCounters = new ConcurrentHashMap<>();
+
+    /**
+     * @param keyspace Agrupación para métricas (p. ej. nombre de la cache)
+     * @param key Clave a coalescer dentro del keyspace
+     * @param loader Carga real (una sola ejecución concurrente por clave)
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String keyspace, String key, Supplier<T> loader) {
+        String flightKey = keyspace + "::" + key;
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(flightKey, flight);
+
+        if (existing != null) {
+            counter(coalescedCounters, "reservations.cache.singleflight.coalesced",
+                    "Llamadas que esperaron una carga en curso en lugar de ir a la base de datos", keyspace).increment();
+            log.debug("Carga de {} coalescida con otra en curso", flightKey);
+            try {
+                return (T) existing.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                if (e.getCause() instanceof Error cause) {
+                    throw cause;
+                }
+                throw new IllegalStateException("Carga de " + flightKey + " fallida", e.getCause());
+            } catch (TimeoutException e) {
+                log.warn("Carga de {} en curso supera {}, se carga sin coalescer", flightKey, waitTimeout);
+                return loader.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrumpido esperando la carga de " + flightKey, e);
+            }
+        }
+
+        counter(loadCounters, "reservations.cache.singleflight.loads",
+                "Cargas ejecutadas contra la base de datos", keyspace).increment();
+        try {
+            T value = loader.get();
+            flight.complete(value);
+            return value;
+        } catch (Throwable e) {
+            // También Errors (StackOverflowError, LinkageError...): si no, las esperas nunca terminan
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flightKey, flight);
+        }
+    }
+
+    private Counter counter(Map<String, Counter> counters, String name, String description, String keyspace) {
+        return counters.computeIfAbsent(keyspace, ks -> Counter.builder(name)
+                .description(description)
+                .tag("keyspace", ks)
+                .register(meterRegistry));
+    }
+}
@@ -0,0 +1,146 @@
+package com.cuidadodemascotas.microservice.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.util.ByteUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+/**
+ * Aplica las escrituras versionadas de {@link VersionedCacheWrites} sobre una cache de Redis.
+ * Los valores con versión se escriben con compare-and-set; el resto (listas, páginas de IDs)
+ * con un SET normal. Los desalojos dejan lápida en las caches versionadas.
+ *
+ * Los put/evict de @CachePut/@CacheEvict en un update o delete llegan tras el commit de su
+ * transacción de escritura (TransactionAwareCacheDecorator). Si el compare-and-set rechaza un
+ * put de escritura, la versión guardada puede venir de otra instancia con el reloj adelantado:
+ * se descarta la entrada para que la siguiente lectura cargue la fila actual.
+ */
+@Slf4j
+public class VersionedCache implements Cache {
+
+    private final RedisCache remote;
+    private final VersionedCacheWrites versionedWrites;
+
+    public VersionedCache(RedisCache remote, VersionedCacheWrites versionedWrites) {
+        this.remote = remote;
+        this.versionedWrites = versionedWrites;
+    }
+
+    @Override
+    public String getName() {
+        return remote.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remote.getNativeCache();
+    }
+
+    public RedisCacheConfiguration getCacheConfiguration() {
+        return remote.getCacheConfiguration();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return remote.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return remote.get(key, type);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        // RedisCache escribiría el valor cargado sin pasar por put(); se resuelve aquí
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        put(key, value);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        Long version = VersionedCacheWrites.versionOf(value);
+        if (version == null || !versionedWrites.isVersioned(getName())) {
+            remote.put(key, value);
+            return;
+        }
+
+        RedisCacheConfiguration config = remote.getCacheConfiguration();
+        byte[] rawValue = ByteUtils.getBytes(config.getValueSerializationPair().write(value));
+        Duration ttl = config.getTtlFunction().getTimeToLive(key, value);
+        if (versionedWrites.put(fullKey(key), rawValue, version, ttl)) {
+            return;
+        }
+        if (inWriteTransaction()) {
+            log.debug("Escritura rechazada en {}::{} tras un update: se descarta la entrada", getName(), key);
+            versionedWrites.discard(fullKey(key));
+        } else {
+            log.debug("Escritura descartada en {}::{}: la cache ya tiene una versión más reciente", getName(), key);
+        }
+    }
+
+    /**
+     * Sin uso en el servicio: se delega tal cual, sin comprobación de versión
+     */
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return remote.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        evictIfPresent(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        if (!versionedWrites.isVersioned(getName())) {
+            return remote.evictIfPresent(key);
+        }
+        return inWriteTransaction()
+                ? versionedWrites.evictDeleted(fullKey(key))
+                : versionedWrites.evict(fullKey(key));
+    }
+
+    /**
+     * El SCAN por prefijo de RedisCache también elimina las claves de versión
+     */
+    @Override
+    public void clear() {
+        remote.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return remote.invalidate();
+    }
+
+    /**
+     * true dentro (o en el afterCommit) de una transacción de escritura: update o delete
+     */
+    private static boolean inWriteTransaction() {
+        return TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    private String fullKey(Object key) {
+        RedisCacheConfiguration config = remote.getCacheConfiguration();
+        return config.usePrefix() ? config.getKeyPrefixFor(getName()) + key : String.valueOf(key);
+    }
+}
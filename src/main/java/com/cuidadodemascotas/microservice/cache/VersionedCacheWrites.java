@@ -0,0 +1,195 @@
+package com.cuidadodemascotas.microservice.cache;
+
+import org.example.cuidadodemascota.commons.dto.ReservationResponseDTO;
+import org.example.cuidadodemascota.commons.dto.ReservationServiceResponseDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Escrituras versionadas (compare-and-set) en Redis para las entradas que llevan versión.
+ * La versión de un DTO es su updatedAt en microsegundos y se guarda en una clave hermana
+ * ("<clave>::v") con el mismo TTL, así que el formato del valor no cambia.
+ *
+ * Un script Lua escribe el valor solo si su versión no es anterior a la guardada: una lectura
+ * lenta de una fila antigua ya no pisa el @CachePut de un update concurrente. Como updatedAt
+ * sale del reloj de cada instancia, una escritura rechazada no prueba que la cache esté al día:
+ * los puts de escritura rechazados descartan la entrada (ver {@link VersionedCache}).
+ *
+ * Al desalojar se deja una lápida de vida corta justo por encima de la versión guardada, así
+ * que la fila que se recargue de la base de datos vuelve a entrar. Solo los desalojos de un
+ * delete llevan además el reloj de la instancia, para que la fila borrada tampoco reaparezca
+ * por una lectura lenta anterior al delete.
+ * Cualquier cambio de versión o desalojo elimina también el cuerpo HTTP cacheado de la entrada.
+ */
+@Component
+public class VersionedCacheWrites {
+
+    static final String VERSION_SUFFIX = "::v";
+    // Cuerpo HTTP ya serializado de la misma entrada (ResponseBodyCache)
+    static final String RESPONSE_SUFFIX = "::http";
+
+    private static final String PUT_SCRIPT = """
+            local current = redis.call('GET', KEYS[2])
+            if current and tonumber(current) > tonumber(ARGV[2]) then
+              return 0
+            end
+            if current ~= ARGV[2] then
+              redis.call('DEL', KEYS[3])
+            end
+            if tonumber(ARGV[3]) > 0 then
+              redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[3])
+              redis.call('SET', KEYS[2], ARGV[2], 'PX', ARGV[3])
+            else
+              redis.call('SET', KEYS[1], ARGV[1])
+              redis.call('SET', KEYS[2], ARGV[2])
+            end
+            return 1
+            """;
+
+    private static final String EVICT_SCRIPT = """
+            local removed = redis.call('DEL', KEYS[1])
+            redis.call('DEL', KEYS[3])
+            local current = tonumber(redis.call('GET', KEYS[2]) or '0')
+            local tombstone = math.max(current + 1, tonumber(ARGV[1]))
+            redis.call('SET', KEYS[2], string.format('%.0f', tombstone), 'PX', ARGV[2])
+            return removed
+            """;
+
+    private static final String DISCARD_SCRIPT = """
+            return redis.call('DEL', KEYS[1], KEYS[2], KEYS[3])
+            """;
+
+    static final RedisScript<Long> PUT = RedisScript.of(PUT_SCRIPT, Long.class);
+    static final RedisScript<Long> EVICT = RedisScript.of(EVICT_SCRIPT, Long.class);
+    static final RedisScript<Long> DISCARD = RedisScript.of(DISCARD_SCRIPT, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final Set<String> versionedCaches;
+    private final long tombstoneTtlMillis;
+
+    public VersionedCacheWrites(StringRedisTemplate redisTemplate,
+                                @Value("${cache.versioning.caches:reservations,reservation_services}") Set<String> versionedCaches,
+                                @Value("${cache.versioning.tombstone-ttl:PT10S}") Duration tombstoneTtl) {
+        this.redisTemplate = redisTemplate;
+        this.versionedCaches = versionedCaches;
+        this.tombstoneTtlMillis = tombstoneTtl.toMillis();
+    }
+
+    /**
+     * Versión de un valor cacheado, o null si el valor no lleva versión (listas, páginas)
+     */
+    public static Long versionOf(Object value) {
+        OffsetDateTime updatedAt = null;
+        if (value instanceof ReservationResponseDTO dto) {
+            updatedAt = dto.getUpdatedAt();
+        } else if (value instanceof ReservationServiceResponseDTO dto) {
+            updatedAt = dto.getUpdatedAt();
+        }
+        // updatedAt se asigna con LocalDateTime.now(); se compara en esa misma base horaria
+        return updatedAt != null ? micros(updatedAt.toLocalDateTime()) : null;
+    }
+
+    public boolean isVersioned(String cacheName) {
+        return versionedCaches.contains(cacheName);
+    }
+
+    /**
+     * Escritura condicional; devuelve false si ya había una versión más reciente
+     */
+    public boolean put(String fullKey, byte[] rawValue, long version, Duration ttl) {
+        Long written = redisTemplate.execute(PUT, RedisSerializer.byteArray(), null,
+                List.of(fullKey, fullKey + VERSION_SUFFIX, fullKey + RESPONSE_SUFFIX),
+                rawValue, ascii(version), ascii(ttlMillis(ttl)));
+        return written != null && written == 1L;
+    }
+
+    /**
+     * Desalojo con lápida sobre la versión guardada; devuelve true si la entrada existía
+     */
+    public boolean evict(String fullKey) {
+        return evict(fullKey, 0L);
+    }
+
+    /**
+     * Desalojo de una fila borrada: la lápida cubre también las lecturas anteriores al delete
+     * aunque la entrada no estuviera cacheada
+     */
+    public boolean evictDeleted(String fullKey) {
+        return evict(fullKey, micros(LocalDateTime.now()));
+    }
+
+    /**
+     * Elimina valor, versión y cuerpo HTTP sin dejar lápida: la siguiente lectura cachea la fila actual
+     */
+    public void discard(String fullKey) {
+        redisTemplate.execute(DISCARD, RedisSerializer.byteArray(), null,
+                List.of(fullKey, fullKey + VERSION_SUFFIX, fullKey + RESPONSE_SUFFIX));
+    }
+
+    private boolean evict(String fullKey, long minTombstone) {
+        Long removed = redisTemplate.execute(EVICT, RedisSerializer.byteArray(), null,
+                List.of(fullKey, fullKey + VERSION_SUFFIX, fullKey + RESPONSE_SUFFIX),
+                ascii(minTombstone), ascii(tombstoneTtlMillis));
+        return removed != null && removed > 0;
+    }
+
+    /**
+     * Variante de put para usar dentro de un pipeline (EVAL, sin resultado inmediato)
+     */
+    public void put(RedisConnection connection, byte[] rawKey, byte[] rawValue, long version, Duration ttl) {
+        connection.scriptingCommands().eval(PUT_SCRIPT.getBytes(StandardCharsets.UTF_8), ReturnType.INTEGER, 3,
+                rawKey, withSuffix(rawKey, VERSION_SUFFIX), withSuffix(rawKey, RESPONSE_SUFFIX), rawValue, ascii(version), ascii(ttlMillis(ttl)));
+    }
+
+    /**
+     * Variante de evict para usar dentro de un pipeline
+     */
+    public void evict(RedisConnection connection, byte[] rawKey) {
+        evict(connection, rawKey, 0L);
+    }
+
+    /**
+     * Variante de evictDeleted para usar dentro de un pipeline
+     */
+    public void evictDeleted(RedisConnection connection, byte[] rawKey) {
+        evict(connection, rawKey, micros(LocalDateTime.now()));
+    }
+
+    private void evict(RedisConnection connection, byte[] rawKey, long minTombstone) {
+        connection.scriptingCommands().eval(EVICT_SCRIPT.getBytes(StandardCharsets.UTF_8), ReturnType.INTEGER, 3,
+                rawKey, withSuffix(rawKey, VERSION_SUFFIX), withSuffix(rawKey, RESPONSE_SUFFIX), ascii(minTombstone), ascii(tombstoneTtlMillis));
+    }
+
+    private static long micros(LocalDateTime dateTime) {
+        return ChronoUnit.MICROS.between(LocalDateTime.of(1970, 1, 1, 0, 0), dateTime);
+    }
+
+    private static long ttlMillis(Duration ttl) {
+        return ttl == null || ttl.isNegative() ? 0 : ttl.toMillis();
+    }
+
+    static byte[] withSuffix(byte[] rawKey, String keySuffix) {
+        byte[] suffix = keySuffix.getBytes(StandardCharsets.UTF_8);
+        byte[] key = new byte[rawKey.length + suffix.length];
+        System.arraycopy(rawKey, 0, key, 0, rawKey.length);
+        System.arraycopy(suffix, 0, key, rawKey.length, suffix.length);
+        return key;
+    }
+
+    static byte[] ascii(long number) {
+        return Long.toString(number).getBytes(StandardCharsets.US_ASCII);
+    }
+}
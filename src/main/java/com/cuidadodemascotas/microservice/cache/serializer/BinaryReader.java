@@ -0,0 +1,76 @@
+package com.cuidadodemascotas.microservice.cache.serializer;
+
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Lector del formato binario escrito por {@link BinaryWriter}
+ */
+public class BinaryReader {
+
+    private final byte[] buffer;
+    private int position;
+
+    public BinaryReader(byte[] buffer, int offset) {
+        this.buffer = buffer;
+        this.position = offset;
+    }
+
+    public int readByte() {
+        if (position >= buffer.length) {
+            throw new SerializationException("Valor de cache truncado en la posición " + position);
+        }
+        return buffer[position++] & 0xFF;
+    }
+
+    public byte[] readBytes(int length) {
+        if (position + length > buffer.length) {
+            throw new SerializationException("Valor de cache truncado en la posición " + position);
+        }
+        byte[] bytes = new byte[length];
+        System.arraycopy(buffer, position, bytes, 0, length);
+        position += length;
+        return bytes;
+    }
+
+    public long readVarLong() {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new SerializationException("Varint mal formado en la posición " + position);
+    }
+
+    public long readZigZagLong() {
+        long raw = readVarLong();
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    public String readString() {
+        int length = (int) readVarLong();
+        return new String(readBytes(length), StandardCharsets.UTF_8);
+    }
+
+    public OffsetDateTime readOffsetDateTime() {
+        long epochSecond = readZigZagLong();
+        int nano = (int) readVarLong();
+        ZoneOffset offset = ZoneOffset.ofTotalSeconds((int) readZigZagLong());
+        return OffsetDateTime.ofInstant(Instant.ofEpochSecond(epochSecond, nano), offset);
+    }
+
+    public int remaining() {
+        return buffer.length - position;
+    }
+
+    public int position() {
+        return position;
+    }
+}
@@ -0,0 +1,19 @@
+package com.cuidadodemascotas.microservice.cache.serializer;
+
+/**
+ * Codec binario de un tipo de DTO concreto almacenado en cache
+ * @param <T> Tipo del DTO
+ */
+public interface CacheValueCodec<T> {
+
+    /**
+     * Identificador del tipo dentro del formato (único por codec)
+     */
+    int tag();
+
+    Class<T> type();
+
+    void write(T value, BinaryWriter writer);
+
+    T read(BinaryReader reader);
+}
@@ -0,0 +1,48 @@
+package com.cuidadodemascotas.microservice.cache.serializer;
+
+import com.cuidadodemascotas.microservice.cache.CachedIdPage;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Codec binario de CachedIdPage: total + IDs codificados como deltas zigzag
+ */
+public class CachedIdPageCodec implements CacheValueCodec<CachedIdPage> {
+
+    public static final int TAG = 3;
+
+    @Override
+    public int tag() {
+        return TAG;
+    }
+
+    @Override
+    public Class<CachedIdPage> type() {
+        return CachedIdPage.class;
+    }
+
+    @Override
+    public void write(CachedIdPage value, BinaryWriter writer) {
+        writer.writeVarLong(value.totalElements());
+        writer.writeVarLong(value.ids().size());
+        long previous = 0;
+        for (Long id : value.ids()) {
+            writer.writeZigZagLong(id - previous);
+            previous = id;
+        }
+    }
+
+    @Override
+    public CachedIdPage read(BinaryReader reader) {
+        long totalElements = reader.readVarLong();
+        int size = (int) reader.readVarLong();
+        List<Long> ids = new ArrayList<>(size);
+        long previous = 0;
+        for (int i = 0; i < size; i++) {
+            previous += reader.readZigZagLong();
+            ids.add(previous);
+        }
+        return new CachedIdPage(ids, totalElements);
+    }
+}
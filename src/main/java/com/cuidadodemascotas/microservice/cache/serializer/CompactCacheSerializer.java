@@ -0,0 +1,153 @@
+package com.cuidadodemascotas.microservice.cache.serializer;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Serializador binario tipado por cache.
+ * Cada cache declara los DTOs que almacena; esos valores (y las listas de ellos) se escriben
+ * con su codec compacto, sin nombres de clase ni reflexión. Cualquier otro valor cae al
+ * serializador JSON de respaldo, así que la cache sigue aceptando tipos no previstos.
+ *
+ * Formato: [versión][tag][payload]
+ * - tag 0: payload JSON del serializador de respaldo
+ * - tag de codec: DTO único
+ * - tag LIST: tag del elemento + tamaño + (presencia + DTO) por elemento (lista vacía: tag 0)
+ * Los valores JSON escritos antes de este formato (empiezan por '{' o '[') se siguen leyendo.
+ */
+public class CompactCacheSerializer implements RedisSerializer<Object> {
+
+    public static final int FORMAT_VERSION = 1;
+
+    static final int TAG_FALLBACK = 0;
+    static final int TAG_LIST = 0x7F;
+
+    private final Map<Class<?>, CacheValueCodec<?>> codecsByType = new HashMap<>();
+    private final Map<Integer, CacheValueCodec<?>> codecsByTag = new HashMap<>();
+    private final RedisSerializer<Object> fallback;
+
+    public CompactCacheSerializer(RedisSerializer<Object> fallback, CacheValueCodec<?>... codecs) {
+        this.fallback = fallback;
+        for (CacheValueCodec<?> codec : codecs) {
+            codecsByType.put(codec.type(), codec);
+            codecsByTag.put(codec.tag(), codec);
+        }
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return null;
+        }
+
+        CacheValueCodec<Object> codec = codecFor(value);
+        if (codec != null) {
+            BinaryWriter writer = new BinaryWriter(64);
+            writer.writeByte(FORMAT_VERSION);
+            writer.writeByte(codec.tag());
+            codec.write(value, writer);
+            return writer.toByteArray();
+        }
+
+        if (value instanceof List<?> list) {
+            CacheValueCodec<Object> elementCodec = codecForElements(list);
+            if (elementCodec != null || list.isEmpty()) {
+                BinaryWriter writer = new BinaryWriter(16 + list.size() * 48);
+                writer.writeByte(FORMAT_VERSION);
+                writer.writeByte(TAG_LIST);
+                writer.writeByte(elementCodec != null ? elementCodec.tag() : TAG_FALLBACK);
+                writer.writeVarLong(list.size());
+                for (Object element : list) {
+                    if (element == null) {
+                        writer.writeByte(0);
+                    } else {
+                        writer.writeByte(1);
+                        elementCodec.write(element, writer);
+                    }
+                }
+                return writer.toByteArray();
+            }
+        }
+
+        byte[] json = fallback.serialize(value);
+        BinaryWriter writer = new BinaryWriter(json.length + 2);
+        writer.writeByte(FORMAT_VERSION);
+        writer.writeByte(TAG_FALLBACK);
+        writer.writeBytes(json);
+        return writer.toByteArray();
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+
+        if (bytes[0] == '{' || bytes[0] == '[') {
+            return fallback.deserialize(bytes);
+        }
+
+        BinaryReader reader = new BinaryReader(bytes, 0);
+        int version = reader.readByte();
+        if (version != FORMAT_VERSION) {
+            throw new SerializationException("Versión de formato de cache no soportada: " + version);
+        }
+
+        int tag = reader.readByte();
+        if (tag == TAG_FALLBACK) {
+            return fallback.deserialize(reader.readBytes(reader.remaining()));
+        }
+
+        if (tag == TAG_LIST) {
+            int elementTag = reader.readByte();
+            int size = (int) reader.readVarLong();
+            List<Object> list = new ArrayList<>(size);
+            if (size == 0) {
+                return list;
+            }
+            CacheValueCodec<?> elementCodec = requireCodec(elementTag);
+            for (int i = 0; i < size; i++) {
+                list.add(reader.readByte() == 0 ? null : elementCodec.read(reader));
+            }
+            return list;
+        }
+
+        return requireCodec(tag).read(reader);
+    }
+
+    @SuppressWarnings("unchecked")
+    private CacheValueCodec<Object> codecFor(Object value) {
+        return (CacheValueCodec<Object>) codecsByType.get(value.getClass());
+    }
+
+    /**
+     * Devuelve el codec común a todos los elementos no nulos, o null si la lista es mixta o vacía
+     */
+    private CacheValueCodec<Object> codecForElements(List<?> list) {
+        CacheValueCodec<Object> common = null;
+        for (Object element : list) {
+            if (element == null) {
+                continue;
+            }
+            CacheValueCodec<Object> codec = codecFor(element);
+            if (codec == null || (common != null && common != codec)) {
+                return null;
+            }
+            common = codec;
+        }
+        return common;
+    }
+
+    private CacheValueCodec<?> requireCodec(int tag) {
+        CacheValueCodec<?> codec = codecsByTag.get(tag);
+        if (codec == null) {
+            throw new SerializationException("Tipo de valor de cache desconocido: " + tag);
+        }
+        return codec;
+    }
+}
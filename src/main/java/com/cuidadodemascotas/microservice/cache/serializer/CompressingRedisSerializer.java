@@ -0,0 +1,91 @@
+package com.cuidadodemascotas.microservice.cache.serializer;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Comprime los valores serializados que superan un umbral de tamaño.
+ * Formato comprimido: [MARKER][tamaño original varint][deflate sin cabecera, nivel BEST_SPEED].
+ * El marcador no coincide con el primer byte de ningún otro formato (versión del formato
+ * compacto ni '{' / '[' del JSON antiguo), así que valores comprimidos y sin comprimir conviven.
+ * Si comprimir no ahorra espacio, el valor se guarda tal cual.
+ */
+public class CompressingRedisSerializer implements RedisSerializer<Object> {
+
+    public static final int MARKER = 0xC0;
+
+    private static final ThreadLocal<Deflater> DEFLATER =
+            ThreadLocal.withInitial(() -> new Deflater(Deflater.BEST_SPEED, true));
+    private static final ThreadLocal<Inflater> INFLATER =
+            ThreadLocal.withInitial(() -> new Inflater(true));
+
+    private final RedisSerializer<Object> delegate;
+    private final int thresholdBytes;
+
+    public CompressingRedisSerializer(RedisSerializer<Object> delegate, int thresholdBytes) {
+        this.delegate = delegate;
+        this.thresholdBytes = thresholdBytes;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        byte[] raw = delegate.serialize(value);
+        if (raw == null || raw.length < thresholdBytes) {
+            return raw;
+        }
+
+        Deflater deflater = DEFLATER.get();
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+
+        BinaryWriter writer = new BinaryWriter(raw.length / 2 + 8);
+        writer.writeByte(MARKER);
+        writer.writeVarLong(raw.length);
+        byte[] buffer = new byte[Math.max(64, raw.length / 2)];
+        while (!deflater.finished()) {
+            int written = deflater.deflate(buffer);
+            writer.writeBytes(written == buffer.length ? buffer : Arrays.copyOf(buffer, written));
+        }
+
+        byte[] compressed = writer.toByteArray();
+        return compressed.length < raw.length ? compressed : raw;
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0 || (bytes[0] & 0xFF) != MARKER) {
+            return delegate.deserialize(bytes);
+        }
+
+        BinaryReader reader = new BinaryReader(bytes, 1);
+        int originalLength = (int) reader.readVarLong();
+        int offset = reader.position();
+
+        Inflater inflater = INFLATER.get();
+        inflater.reset();
+        inflater.setInput(bytes, offset, bytes.length - offset);
+        byte[] raw = new byte[originalLength];
+        try {
+            int read = 0;
+            while (read < originalLength && !inflater.finished()) {
+                int inflated = inflater.inflate(raw, read, originalLength - read);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                read += inflated;
+            }
+            if (read != originalLength) {
+                throw new SerializationException("Valor comprimido truncado: " + read + " de " + originalLength + " bytes");
+            }
+        } catch (DataFormatException e) {
+            throw new SerializationException("Valor comprimido corrupto", e);
+        }
+        return delegate.deserialize(raw);
+    }
+}
@@ -0,0 +1,45 @@
+package com.cuidadodemascotas.microservice.cache.serializer;
+
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * Codifica enums por nombre con un diccionario fijo de estados conocidos (1 byte);
+ * los nombres fuera del diccionario se escriben como texto para no depender del ordinal.
+ */
+final class EnumCodec {
+
+    private static final String[] KNOWN_NAMES = {"PENDING", "ACCEPTED", "REJECTED", "FINISHED", "PAID"};
+    private static final int LITERAL = 0xFF;
+
+    private EnumCodec() {
+    }
+
+    static void write(BinaryWriter writer, Enum<?> value) {
+        String name = value.name();
+        for (int i = 0; i < KNOWN_NAMES.length; i++) {
+            if (KNOWN_NAMES[i].equals(name)) {
+                writer.writeByte(i);
+                return;
+            }
+        }
+        writer.writeByte(LITERAL);
+        writer.writeString(name);
+    }
+
+    /**
+     * Un índice o nombre desconocido indica una entrada corrupta: se lanza SerializationException
+     * para que la cache la trate como un miss.
+     */
+    static <E extends Enum<E>> E read(BinaryReader reader, Class<E> type) {
+        int index = reader.readByte();
+        if (index != LITERAL && index >= KNOWN_NAMES.length) {
+            throw new SerializationException("Índice de enum desconocido en cache: " + index);
+        }
+        String name = index == LITERAL ? reader.readString() : KNOWN_NAMES[index];
+        try {
+            return Enum.valueOf(type, name);
+        } catch (IllegalArgumentException e) {
+            throw new SerializationException("Valor de enum desconocido en cache: " + name, e);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.cuidadodemascotas.microservice.cache.serializer;
+
+import org.example.cuidadodemascota.commons.dto.ReservationResponseDTO;
+
+/**
+ * Codec binario de ReservationResponseDTO.
+ * Layout: máscara de presencia (1 byte) + campos presentes en orden fijo.
+ */
+public class ReservationResponseCodec implements CacheValueCodec<ReservationResponseDTO> {
+
+    public static final int TAG = 1;
+
+    private static final int HAS_ID = 1;
+    private static final int HAS_OWNER = 1 << 1;
+    private static final int HAS_CARER = 1 << 2;
+    private static final int HAS_SERVICE_DATE = 1 << 3;
+    private static final int HAS_STATE = 1 << 4;
+    private static final int HAS_CREATED_AT = 1 << 5;
+    private static final int HAS_UPDATED_AT = 1 << 6;
+    private static final int HAS_ACTIVE = 1 << 7;
+
+    @Override
+    public int tag() {
+        return TAG;
+    }
+
+    @Override
+    public Class<ReservationResponseDTO> type() {
+        return ReservationResponseDTO.class;
+    }
+
+    @Override
+    public void write(ReservationResponseDTO dto, BinaryWriter writer) {
+        int mask = 0;
+        if (dto.getId() != null) mask |= HAS_ID;
+        if (dto.getOwnerId() != null) mask |= HAS_OWNER;
+        if (dto.getCarerId() != null) mask |= HAS_CARER;
+        if (dto.getServiceDate() != null) mask |= HAS_SERVICE_DATE;
+        if (dto.getReservationState() != null) mask |= HAS_STATE;
+        if (dto.getCreatedAt() != null) mask |= HAS_CREATED_AT;
+        if (dto.getUpdatedAt() != null) mask |= HAS_UPDATED_AT;
+        if (dto.getActive() != null) mask |= HAS_ACTIVE;
+        writer.writeByte(mask);
+
+        if (dto.getId() != null) writer.writeVarLong(dto.getId());
+        if (dto.getOwnerId() != null) writer.writeVarLong(dto.getOwnerId());
+        if (dto.getCarerId() != null) writer.writeVarLong(dto.getCarerId());
+        if (dto.getServiceDate() != null) writer.writeOffsetDateTime(dto.getServiceDate());
+        if (dto.getReservationState() != null) EnumCodec.write(writer, dto.getReservationState());
+        if (dto.getCreatedAt() != null) writer.writeOffsetDateTime(dto.getCreatedAt());
+        if (dto.getUpdatedAt() != null) writer.writeOffsetDateTime(dto.getUpdatedAt());
+        if (dto.getActive() != null) writer.writeByte(dto.getActive() ? 1 : 0);
+    }
+
+    @Override
+    public ReservationResponseDTO read(BinaryReader reader) {
+        int mask = reader.readByte();
+
+        ReservationResponseDTO dto = new ReservationResponseDTO();
+        if ((mask & HAS_ID) != 0) dto.setId(reader.readVarLong());
+        if ((mask & HAS_OWNER) != 0) dto.setOwnerId(reader.readVarLong());
+        if ((mask & HAS_CARER) != 0) dto.setCarerId(reader.readVarLong());
+        if ((mask & HAS_SERVICE_DATE) != 0) dto.setServiceDate(reader.readOffsetDateTime());
+        if ((mask & HAS_STATE) != 0) {
+            dto.setReservationState(EnumCodec.read(reader, ReservationResponseDTO.ReservationStateEnum.class));
+        }
+        if ((mask & HAS_CREATED_AT) != 0) dto.setCreatedAt(reader.readOffsetDateTime());
+        if ((mask & HAS_UPDATED_AT) != 0) dto.setUpdatedAt(reader.readOffsetDateTime());
+        if ((mask & HAS_ACTIVE) != 0) dto.setActive(reader.readByte() == 1);
+        return dto;
+    }
+}
@@ -0,0 +1,62 @@
+package com.cuidadodemascotas.microservice.cache.serializer;
+
+import org.example.cuidadodemascota.commons.dto.ReservationServiceResponseDTO;
+
+/**
+ * Codec binario de ReservationServiceResponseDTO.
+ * Layout: máscara de presencia (1 byte) + campos presentes en orden fijo.
+ */
+public class ReservationServiceResponseCodec implements CacheValueCodec<ReservationServiceResponseDTO> {
+
+    public static final int TAG = 2;
+
+    private static final int HAS_ID = 1;
+    private static final int HAS_RESERVATION = 1 << 1;
+    private static final int HAS_SERVICE = 1 << 2;
+    private static final int HAS_CREATED_AT = 1 << 3;
+    private static final int HAS_UPDATED_AT = 1 << 4;
+    private static final int HAS_ACTIVE = 1 << 5;
+
+    @Override
+    public int tag() {
+        return TAG;
+    }
+
+    @Override
+    public Class<ReservationServiceResponseDTO> type() {
+        return ReservationServiceResponseDTO.class;
+    }
+
+    @Override
+    public void write(ReservationServiceResponseDTO dto, BinaryWriter writer) {
+        int mask = 0;
+        if (dto.getId() != null) mask |= HAS_ID;
+        if (dto.getReservationId() != null) mask |= HAS_RESERVATION;
+        if (dto.getServiceId() != null) mask |= HAS_SERVICE;
+        if (dto.getCreatedAt() != null) mask |= HAS_CREATED_AT;
+        if (dto.getUpdatedAt() != null) mask |= HAS_UPDATED_AT;
+        if (dto.getActive() != null) mask |= HAS_ACTIVE;
+        writer.writeByte(mask);
+
+        if (dto.getId() != null) writer.writeVarLong(dto.getId());
+        if (dto.getReservationId() != null) writer.writeVarLong(dto.getReservationId());
+        if (dto.getServiceId() != null) writer.writeVarLong(dto.getServiceId());
+        if (dto.getCreatedAt() != null) writer.writeOffsetDateTime(dto.getCreatedAt());
+        if (dto.getUpdatedAt() != null) writer.writeOffsetDateTime(dto.getUpdatedAt());
+        if (dto.getActive() != null) writer.writeByte(dto.getActive() ? 1 : 0);
+    }
+
+    @Override
+    public ReservationServiceResponseDTO read(BinaryReader reader) {
+        int mask = reader.readByte();
+
+        ReservationServiceResponseDTO dto = new ReservationServiceResponseDTO();
+        if ((mask & HAS_ID) != 0) dto.setId(reader.readVarLong());
+        if ((mask & HAS_RESERVATION) != 0) dto.setReservationId(reader.readVarLong());
+        if ((mask & HAS_SERVICE) != 0) dto.setServiceId(reader.readVarLong());
+        if ((mask & HAS_CREATED_AT) != 0) dto.setCreatedAt(reader.readOffsetDateTime());
+        if ((mask & HAS_UPDATED_AT) != 0) dto.setUpdatedAt(reader.readOffsetDateTime());
+        if ((mask & HAS_ACTIVE) != 0) dto.setActive(reader.readByte() == 1);
+        return dto;
+    }
+}
@@ -1,64 +1,289 @@
 package com.cuidadodemascotas.microservice.config;
 
+import com.cuidadodemascotas.microservice.cache.CountCache;
+import com.cuidadodemascotas.microservice.cache.DecoratingCacheManager;
+import com.cuidadodemascotas.microservice.cache.FailFastCache;
+import com.cuidadodemascotas.microservice.cache.HotKeyCache;
+import com.cuidadodemascotas.microservice.cache.HotKeyTracker;
+import com.cuidadodemascotas.microservice.cache.InstrumentedCache;
+import com.cuidadodemascotas.microservice.cache.JitteredTtlFunction;
+import com.cuidadodemascotas.microservice.cache.NearCache;
+import com.cuidadodemascotas.microservice.cache.NearCacheInvalidationBus;
+import com.cuidadodemascotas.microservice.cache.NotFoundCache;
+import com.cuidadodemascotas.microservice.cache.RedisCircuitBreaker;
+import com.cuidadodemascotas.microservice.cache.RefreshAheadCache;
+import com.cuidadodemascotas.microservice.cache.RefreshAheadLoaders;
+import com.cuidadodemascotas.microservice.cache.SearchResultCache;
+import com.cuidadodemascotas.microservice.cache.VersionedCache;
+import com.cuidadodemascotas.microservice.cache.VersionedCacheWrites;
+import com.cuidadodemascotas.microservice.cache.serializer.CachedIdPageCodec;
+import com.cuidadodemascotas.microservice.cache.serializer.CompactCacheSerializer;
+import com.cuidadodemascotas.microservice.cache.serializer.CompressingRedisSerializer;
+import com.cuidadodemascotas.microservice.cache.serializer.ReservationResponseCodec;
+import com.cuidadodemascotas.microservice.cache.serializer.ReservationServiceResponseCodec;
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.PropertyAccessor;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.redis.cache.RedisCache;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ThreadPoolExecutor;
 
 @Configuration
 @EnableCaching
 public class RedisCacheConfig {
 
-    @Bean
-    public RedisCacheManager cacheManager(RedisConnectionFactory redisConnectionFactory) {
-        ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.registerModule(new JavaTimeModule());
-        objectMapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY);
-        objectMapper.activateDefaultTyping(objectMapper.getPolymorphicTypeValidator(), ObjectMapper.DefaultTyping.NON_FINAL);
+    @Value("${cache.near.maximum-size:10000}")
+    private long nearCacheMaximumSize;
+
+    @Value("${cache.near.ttl:PT1M}")
+    private Duration nearCacheTtl;
+
+    @Value("${cache.refresh-ahead.enabled:true}")
+    private boolean refreshAheadEnabled;
+
+    @Value("${cache.refresh-ahead.beta:1.0}")
+    private double refreshAheadBeta;
+
+    @Value("${cache.refresh-ahead.min-delta:PT5S}")
+    private Duration refreshAheadMinDelta;
+
+    @Value("${cache.hot-keys.pin.enabled:false}")
+    private boolean hotKeyPinEnabled;
+
+    @Value("${cache.hot-keys.pin.ttl:PT1S}")
+    private Duration hotKeyPinTtl;
+
+    @Value("${cache.hot-keys.pin.max-entries:100}")
+    private int hotKeyPinMaxEntries;
 
+    /**
+     * CacheManager de Redis (L2). No es transaction-aware: esa capa la aplica cacheManager
+     * por encima de los decoradores, para que L1 y Redis se actualicen juntos tras el commit.
+     */
+    @Bean
+    public RedisCacheManager redisCacheManager(RedisConnectionFactory redisConnectionFactory, Environment environment) {
         // Serializador JSON que usa el ObjectMapper configurado
-        RedisSerializer<Object> serializer = new GenericJackson2JsonRedisSerializer(objectMapper);
+        RedisSerializer<Object> serializer = jsonSerializer();
+        // Los valores grandes (p. ej. listas byReservation_) se comprimen a partir de este tamaño
+        int compressionThreshold = environment.getProperty("cache.compression.threshold-bytes", Integer.class, 1024);
 
         // Configuración base global
         RedisCacheConfiguration defaultCacheConfig = RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(Duration.ofMinutes(10)) // TTL global (10 minutos)
+                .entryTtl(jitteredTtl(environment, "default", Duration.ofMinutes(10))) // TTL global (10 minutos)
                 .disableCachingNullValues()
                 .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
-                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(serializer));
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(
+                        new CompressingRedisSerializer(serializer, compressionThreshold)));
 
         // Configuración específica por dominio
         Map<String, RedisCacheConfiguration> cacheConfigurations = new HashMap<>();
 
-        // Reservas (TTL 15 min)
+        // Reservas (TTL 15 min) - formato binario tipado para ReservationResponseDTO
         cacheConfigurations.put("reservations",
-                defaultCacheConfig.entryTtl(Duration.ofMinutes(15)).prefixCacheNameWith("reservations::"));
+                defaultCacheConfig.entryTtl(jitteredTtl(environment, "reservations", Duration.ofMinutes(15)))
+                        .prefixCacheNameWith("reservations::")
+                        .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(
+                                new CompressingRedisSerializer(
+                                        new CompactCacheSerializer(serializer, new ReservationResponseCodec()),
+                                        compressionThreshold))));
 
-        // Servicios de reserva (TTL 30 min)
+        // Servicios de reserva (TTL 30 min) - DTO individual (byId_) y listas (byReservation_)
         cacheConfigurations.put("reservation_services",
-                defaultCacheConfig.entryTtl(Duration.ofMinutes(30)).prefixCacheNameWith("reservations::"));
+                defaultCacheConfig.entryTtl(jitteredTtl(environment, "reservation_services", Duration.ofMinutes(30)))
+                        .prefixCacheNameWith("reservations::")
+                        .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(
+                                new CompressingRedisSerializer(
+                                        new CompactCacheSerializer(serializer, new ReservationServiceResponseCodec()),
+                                        compressionThreshold))));
+
+        // Resultados de búsqueda/listado como listas de IDs (TTL 5 min, invalidados por generación)
+        cacheConfigurations.put(SearchResultCache.CACHE_NAME,
+                defaultCacheConfig.entryTtl(jitteredTtl(environment, SearchResultCache.CACHE_NAME, Duration.ofMinutes(5)))
+                        .prefixCacheNameWith("reservations::")
+                        .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(
+                                new CompressingRedisSerializer(
+                                        new CompactCacheSerializer(serializer, new CachedIdPageCodec()),
+                                        compressionThreshold))));
+
+        // Cache negativa de IDs inexistentes (TTL 1 min): corta, porque un ID puede crearse después
+        cacheConfigurations.put(NotFoundCache.CACHE_NAME,
+                defaultCacheConfig.entryTtl(jitteredTtl(environment, NotFoundCache.CACHE_NAME, Duration.ofMinutes(1)))
+                        .prefixCacheNameWith("reservations::"));
+
+        // Totales de los listados paginados (TTL 30 s, invalidados por generación)
+        cacheConfigurations.put(CountCache.CACHE_NAME,
+                defaultCacheConfig.entryTtl(jitteredTtl(environment, CountCache.CACHE_NAME, Duration.ofSeconds(30)))
+                        .prefixCacheNameWith("reservations::"));
 
         // Usuarios de reserva (TTL 10 min)
         cacheConfigurations.put("reservation_users",
-                defaultCacheConfig.entryTtl(Duration.ofMinutes(10)).prefixCacheNameWith("reservations::"));
+                defaultCacheConfig.entryTtl(jitteredTtl(environment, "reservation_users", Duration.ofMinutes(10)))
+                        .prefixCacheNameWith("reservations::"));
 
         return RedisCacheManager.builder(redisConnectionFactory)
                 .cacheDefaults(defaultCacheConfig)
                 .withInitialCacheConfigurations(cacheConfigurations)
-                .transactionAware()
+                .build();
+    }
+
+    /**
+     * TTL con variación aleatoria según cache.ttl-jitter.<cache> (o cache.ttl-jitter.default)
+     */
+    private static JitteredTtlFunction jitteredTtl(Environment environment, String cacheName, Duration ttl) {
+        double defaultJitter = environment.getProperty("cache.ttl-jitter.default", Double.class, 0.0);
+        return new JitteredTtlFunction(ttl,
+                environment.getProperty("cache.ttl-jitter." + cacheName, Double.class, defaultJitter));
+    }
+
+    /**
+     * Serializador JSON con tipado por defecto (formato original de las caches).
+     * Se mantiene como respaldo de los serializadores tipados y para caches sin codec propio.
+     */
+    public static GenericJackson2JsonRedisSerializer jsonSerializer() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY);
+        objectMapper.activateDefaultTyping(objectMapper.getPolymorphicTypeValidator(), ObjectMapper.DefaultTyping.NON_FINAL);
+        return new GenericJackson2JsonRedisSerializer(objectMapper);
+    }
+
+    /**
+     * CacheManager usado por @Cacheable/@CachePut/@CacheEvict y por los servicios.
+     * Si cache.refresh-ahead.enabled=true las claves con loader registrado se refrescan antes de expirar.
+     * Si cache.near.enabled=true antepone una cache L1 en memoria a cada cache de Redis.
+     * Las entradas con versión (updatedAt) se escriben con compare-and-set: nunca se pisa una más reciente.
+     * Cada cache expone métricas de aciertos, fallos y latencia (reservations.cache.*).
+     * Los errores de Redis se degradan a miss y un circuit breaker evita esperar sus timeouts.
+     */
+    @Bean
+    @Primary
+    public CacheManager cacheManager(RedisCacheManager redisCacheManager,
+                                     ObjectProvider<NearCacheInvalidationBus> invalidationBus,
+                                     StringRedisTemplate stringRedisTemplate,
+                                     RefreshAheadLoaders refreshAheadLoaders,
+                                     @Qualifier("cacheRefreshExecutor") TaskExecutor cacheRefreshExecutor,
+                                     MeterRegistry meterRegistry,
+                                     RedisCircuitBreaker redisCircuitBreaker,
+                                     VersionedCacheWrites versionedCacheWrites,
+                                     HotKeyTracker hotKeyTracker) {
+        NearCacheInvalidationBus bus = invalidationBus.getIfAvailable();
+
+        return new DecoratingCacheManager(redisCacheManager, redisCache -> {
+            Cache cache = redisCache;
+            if (redisCache instanceof RedisCache target) {
+                VersionedCache versioned = new VersionedCache(target, versionedCacheWrites);
+                cache = versioned;
+                if (refreshAheadEnabled) {
+                    cache = new RefreshAheadCache(versioned, stringRedisTemplate, refreshAheadLoaders,
+                            cacheRefreshExecutor, refreshAheadBeta, refreshAheadMinDelta);
+                }
+            }
+            cache = new FailFastCache(cache, redisCircuitBreaker);
+            if (bus != null) {
+                NearCache nearCache = new NearCache(cache, buildLocalCache(redisCacheManager, cache), bus);
+                bus.register(nearCache);
+                cache = nearCache;
+            }
+            cache = new HotKeyCache(cache, hotKeyTracker, hotKeyPinEnabled, hotKeyPinTtl, hotKeyPinMaxEntries);
+            return new InstrumentedCache(cache, meterRegistry);
+        });
+    }
+
+    /**
+     * Executor acotado para escrituras de cache fuera del hilo de la petición.
+     * Si la cola se llena la escritura se descarta: la entrada se cacheará en la siguiente lectura.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor cacheWriteExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(200);
+        executor.setThreadNamePrefix("cache-write-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
+        return executor;
+    }
+
+    /**
+     * Executor acotado para refrescos anticipados; si se satura, el refresco se descarta
+     * y la entrada expira con normalidad.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor cacheRefreshExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("cache-refresh-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
+        return executor;
+    }
+
+    // ========== CACHE L1 (NEAR CACHE) ==========
+
+    @Bean
+    @ConditionalOnProperty(name = "cache.near.enabled", havingValue = "true")
+    public NearCacheInvalidationBus nearCacheInvalidationBus(StringRedisTemplate stringRedisTemplate,
+                                                             RedisCircuitBreaker redisCircuitBreaker) {
+        return new NearCacheInvalidationBus(stringRedisTemplate, redisCircuitBreaker);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "cache.near.enabled", havingValue = "true")
+    public RedisMessageListenerContainer nearCacheListenerContainer(RedisConnectionFactory redisConnectionFactory,
+                                                                    NearCacheInvalidationBus nearCacheInvalidationBus) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener(nearCacheInvalidationBus, new ChannelTopic(NearCacheInvalidationBus.CHANNEL));
+        return container;
+    }
+
+    /**
+     * L1 acotada por tamaño; su TTL nunca supera el TTL configurado en Redis para esa cache
+     */
+    private com.github.benmanes.caffeine.cache.Cache<Object, Object> buildLocalCache(
+            RedisCacheManager redisCacheManager, Cache cache) {
+        Duration ttl = nearCacheTtl;
+        RedisCacheConfiguration redisConfig = redisCacheManager.getCacheConfigurations().get(cache.getName());
+        if (redisConfig != null) {
+            Duration redisTtl = JitteredTtlFunction.lowerBound(redisConfig.getTtlFunction());
+            if (!redisTtl.isZero() && redisTtl.compareTo(ttl) < 0) {
+                ttl = redisTtl;
+            }
+        }
+
+        return Caffeine.newBuilder()
+                .maximumSize(nearCacheMaximumSize)
+                .expireAfterWrite(ttl)
                 .build();
     }
 }
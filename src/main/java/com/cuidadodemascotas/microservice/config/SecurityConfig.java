@@ -37,6 +37,7 @@ public class SecurityConfig {
                         ).permitAll()
 
                         // ========== ACTUATOR Y EUREKA ==========
+                        .requestMatchers("/actuator/reservationcaches/**", "/actuator/hotkeys/**", "/actuator/metrics/**").hasRole("ADMIN")
                         .requestMatchers("/actuator/**").permitAll()
 
                         // ========== ENDPOINTS PUBLICOS (CONSULTA) ==========
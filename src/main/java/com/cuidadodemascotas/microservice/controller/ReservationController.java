@@ -1,5 +1,10 @@
 package com.cuidadodemascotas.microservice.controller;
 
+import com.cuidadodemascotas.microservice.cache.ResponseBodyCache;
+import com.cuidadodemascotas.microservice.dto.BatchResult;
+import com.cuidadodemascotas.microservice.dto.BulkStateTransitionRequest;
+import com.cuidadodemascotas.microservice.dto.BulkUpdateResult;
+import com.cuidadodemascotas.microservice.dto.CursorPage;
 import com.cuidadodemascotas.microservice.service.reservation.ReservationServiceImpl;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -16,8 +21,10 @@ import org.example.cuidadodemascota.commons.entities.enums.ReservationStateEnum;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -25,6 +32,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Controlador REST para la gestión de Reservations
@@ -37,7 +45,11 @@ import java.time.LocalDateTime;
 @Tag(name = "Reservations", description = "API para gestión de reservaciones")
 public class ReservationController {
 
+    // Tope del tamaño de página en el modo cursor
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
     private final ReservationServiceImpl reservationServiceImpl;
+    private final ResponseBodyCache responseBodyCache;
 
     /**
      * Crear una nueva reservación
@@ -67,6 +79,35 @@ public class ReservationController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    /**
+     * Crear varias reservaciones en una sola petición
+     * @param requestDTOs
+     * @return
+     */
+    @PreAuthorize("hasAnyAuthority('ROLE_CARER', 'ROLE_OWNER')")
+    @Operation(summary = "Crear reservaciones en lote",
+            description = "Crea varias reservaciones en una transacción. Cada elemento se valida por separado "
+                    + "(datos, owner, carer y disponibilidad, también frente a los demás elementos del lote) "
+                    + "y la respuesta informa el resultado de cada uno en el orden de la petición")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Todas las reservaciones fueron creadas"),
+            @ApiResponse(responseCode = "207", description = "Algunos elementos fueron rechazados; ver items"),
+            @ApiResponse(responseCode = "400", description = "Lote vacío o demasiado grande")
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResult<ReservationResponseDTO>> createBatch(
+            @RequestBody List<ReservationRequestDTO> requestDTOs) {
+
+        log.info("POST /reservations/batch - Crear {} reservaciones",
+                requestDTOs != null ? requestDTOs.size() : 0);
+
+        BatchResult<ReservationResponseDTO> response = reservationServiceImpl.saveAll(requestDTOs);
+
+        log.info("Lote procesado: {} creadas, {} rechazadas", response.succeeded(), response.failed());
+        return ResponseEntity.status(response.hasFailures() ? HttpStatus.MULTI_STATUS : HttpStatus.CREATED)
+                .body(response);
+    }
+
     /**
      * Actualizar una reservación existente
      * @param id
@@ -110,15 +151,18 @@ public class ReservationController {
             @ApiResponse(responseCode = "404", description = "Reservación no encontrada")
     })
     @GetMapping("/{id}")
-    public ResponseEntity<ReservationResponseDTO> findById(
-            @Parameter(description = "ID de la reservación") @PathVariable Long id) {
+    public ResponseEntity<byte[]> findById(
+            @Parameter(description = "ID de la reservación") @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
 
         log.info("GET /reservations/{} - Obtener reservación por ID", id);
 
-        ReservationResponseDTO response = reservationServiceImpl.getById(id);
+        // Cuerpo JSON ya serializado desde la cache; en un fallo se obtiene del servicio
+        ResponseBodyCache.CachedBody body = responseBodyCache.get("reservations", "byId_" + id,
+                ResponseBodyCache.acceptsGzip(acceptEncoding), () -> reservationServiceImpl.getById(id));
 
         log.info("Reservación ID: {} encontrada", id);
-        return ResponseEntity.ok(response);
+        return body.toResponse();
     }
 
     /**
@@ -210,6 +254,173 @@ public class ReservationController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Listar reservaciones sin total (slice=true): una fila de más para hasNext y ninguna consulta COUNT
+     * @param page
+     * @param size
+     * @param sortBy
+     * @param sortDir
+     * @return
+     */
+    @PreAuthorize("hasAnyAuthority('ROLE_CARER', 'ROLE_OWNER')")
+    @Operation(summary = "Listar reservaciones sin total",
+            description = "Obtiene una página de reservaciones activas con hasNext y sin calcular el total")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página obtenida exitosamente")
+    })
+    @GetMapping(params = {"slice=true", "!cursor"})
+    public ResponseEntity<Slice<ReservationResponseDTO>> findAllSlice(
+            @Parameter(description = "Número de página (0-indexed)")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Tamaño de página")
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Campo de ordenamiento")
+            @RequestParam(defaultValue = "id") String sortBy,
+            @Parameter(description = "Dirección de ordenamiento (ASC/DESC)")
+            @RequestParam(defaultValue = "DESC") String sortDir) {
+
+        log.info("GET /reservations - Listar sin total (page={}, size={}, sortBy={}, sortDir={})",
+                page, size, sortBy, sortDir);
+
+        Sort.Direction direction = sortDir.equalsIgnoreCase("ASC") ? Sort.Direction.ASC : Sort.Direction.DESC;
+        Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
+
+        Slice<ReservationResponseDTO> response = reservationServiceImpl.findAllSlice(pageable);
+
+        log.info("Se obtuvieron {} reservaciones (hay más: {})", response.getNumberOfElements(), response.hasNext());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Buscar reservaciones con filtros sin total (slice=true): sin consulta COUNT
+     * @param ownerId
+     * @param carerId
+     * @param state
+     * @param startDate
+     * @param endDate
+     * @param page
+     * @param size
+     * @param sortBy
+     * @param sortDir
+     * @return
+     */
+    @PreAuthorize("hasAnyAuthority('ROLE_CARER', 'ROLE_OWNER')")
+    @Operation(summary = "Buscar reservaciones con filtros sin total",
+            description = "Busca reservaciones aplicando filtros opcionales; devuelve hasNext sin calcular el total")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Búsqueda realizada exitosamente")
+    })
+    @GetMapping(value = "/search", params = {"slice=true", "!cursor"})
+    public ResponseEntity<Slice<ReservationResponseDTO>> searchSlice(
+            @Parameter(description = "ID del propietario")
+            @RequestParam(required = false) Long ownerId,
+            @Parameter(description = "ID del cuidador")
+            @RequestParam(required = false) Long carerId,
+            @Parameter(description = "Estado de la reservación")
+            @RequestParam(required = false) ReservationStateEnum state,
+            @Parameter(description = "Fecha de inicio del rango")
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @Parameter(description = "Fecha de fin del rango")
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "serviceDate") String sortBy,
+            @RequestParam(defaultValue = "DESC") String sortDir) {
+
+        log.info("GET /reservations/search - Sin total. Filtros: ownerId={}, carerId={}, state={}, startDate={}, endDate={}",
+                ownerId, carerId, state, startDate, endDate);
+
+        Sort.Direction direction = sortDir.equalsIgnoreCase("ASC") ? Sort.Direction.ASC : Sort.Direction.DESC;
+        Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
+
+        Slice<ReservationResponseDTO> response = reservationServiceImpl.findByFiltersSlice(
+                ownerId, carerId, state, startDate, endDate, pageable);
+
+        log.info("Búsqueda sin total completada: {} resultados (hay más: {})",
+                response.getNumberOfElements(), response.hasNext());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Listar reservaciones por cursor: se selecciona al enviar el parámetro cursor (vacío en la primera página)
+     * @param cursor
+     * @param size
+     * @return
+     */
+    @PreAuthorize("hasAnyAuthority('ROLE_CARER', 'ROLE_OWNER')")
+    @Operation(summary = "Listar reservaciones por cursor",
+            description = "Recorre las reservaciones activas por fecha de servicio descendente con un cursor opaco; "
+                    + "la latencia no depende de la profundidad")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página obtenida exitosamente"),
+            @ApiResponse(responseCode = "400", description = "Cursor no válido")
+    })
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPage<ReservationResponseDTO>> findAllByCursor(
+            @Parameter(description = "Cursor devuelto en nextCursor (vacío para la primera página)")
+            @RequestParam String cursor,
+            @Parameter(description = "Tamaño de página")
+            @RequestParam(defaultValue = "10") int size) {
+
+        log.info("GET /reservations - Listar por cursor (size={})", size);
+
+        CursorPage<ReservationResponseDTO> response = reservationServiceImpl.findByFiltersCursor(
+                null, null, null, null, null, cursor, cursorPageSize(size));
+
+        log.info("Se obtuvieron {} reservaciones (hay más: {})", response.size(), response.hasNext());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Buscar reservaciones con filtros por cursor: se selecciona al enviar el parámetro cursor
+     * @param ownerId
+     * @param carerId
+     * @param state
+     * @param startDate
+     * @param endDate
+     * @param cursor
+     * @param size
+     * @return
+     */
+    @PreAuthorize("hasAnyAuthority('ROLE_CARER', 'ROLE_OWNER')")
+    @Operation(summary = "Buscar reservaciones con filtros por cursor",
+            description = "Busca reservaciones aplicando filtros opcionales, por fecha de servicio descendente "
+                    + "con un cursor opaco; la latencia no depende de la profundidad")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Búsqueda realizada exitosamente"),
+            @ApiResponse(responseCode = "400", description = "Cursor no válido")
+    })
+    @GetMapping(value = "/search", params = "cursor")
+    public ResponseEntity<CursorPage<ReservationResponseDTO>> searchByCursor(
+            @Parameter(description = "ID del propietario")
+            @RequestParam(required = false) Long ownerId,
+            @Parameter(description = "ID del cuidador")
+            @RequestParam(required = false) Long carerId,
+            @Parameter(description = "Estado de la reservación")
+            @RequestParam(required = false) ReservationStateEnum state,
+            @Parameter(description = "Fecha de inicio del rango")
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @Parameter(description = "Fecha de fin del rango")
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @Parameter(description = "Cursor devuelto en nextCursor (vacío para la primera página)")
+            @RequestParam String cursor,
+            @Parameter(description = "Tamaño de página")
+            @RequestParam(defaultValue = "10") int size) {
+
+        log.info("GET /reservations/search - Cursor. Filtros: ownerId={}, carerId={}, state={}, startDate={}, endDate={}",
+                ownerId, carerId, state, startDate, endDate);
+
+        CursorPage<ReservationResponseDTO> response = reservationServiceImpl.findByFiltersCursor(
+                ownerId, carerId, state, startDate, endDate, cursor, cursorPageSize(size));
+
+        log.info("Búsqueda por cursor completada: {} resultados (hay más: {})", response.size(), response.hasNext());
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Eliminar una reservación (borrado lógico)
      * @param id
@@ -234,4 +445,60 @@ public class ReservationController {
         log.info("Reservación ID: {} eliminada exitosamente", id);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    /**
+     * Eliminar varias reservaciones (borrado lógico en bloque)
+     * @param ids
+     * @return
+     */
+    @PreAuthorize("hasAnyAuthority('ROLE_CARER', 'ROLE_OWNER')")
+    @Operation(summary = "Eliminar reservaciones en bloque (borrado lógico)",
+            description = "Marca como inactivas las reservaciones indicadas con una sola sentencia. "
+                    + "Se omiten las inexistentes, ya inactivas o aceptadas; la respuesta lista ambos grupos")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Borrado en bloque realizado"),
+            @ApiResponse(responseCode = "400", description = "Lista vacía o demasiado grande")
+    })
+    @PostMapping("/batch/delete")
+    public ResponseEntity<BulkUpdateResult> deleteBatch(@RequestBody List<Long> ids) {
+
+        log.info("POST /reservations/batch/delete - Eliminar {} reservaciones", ids != null ? ids.size() : 0);
+
+        BulkUpdateResult response = reservationServiceImpl.deleteAll(ids);
+
+        log.info("Borrado en bloque: {} eliminadas, {} omitidas",
+                response.updatedIds().size(), response.skippedIds().size());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Cambiar el estado de varias reservaciones
+     * @param request
+     * @return
+     */
+    @PreAuthorize("hasAnyAuthority('ROLE_CARER', 'ROLE_OWNER')")
+    @Operation(summary = "Cambiar el estado de reservaciones en bloque",
+            description = "Pasa a toState las reservaciones indicadas (solo las que estén en fromState, si se indica) "
+                    + "con una sola sentencia. Se omiten las inexistentes, inactivas, finalizadas o pagadas")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Cambio de estado en bloque realizado"),
+            @ApiResponse(responseCode = "400", description = "Lista vacía o demasiado grande, o sin estado destino")
+    })
+    @PostMapping("/batch/state")
+    public ResponseEntity<BulkUpdateResult> transitionStateBatch(@RequestBody BulkStateTransitionRequest request) {
+
+        log.info("POST /reservations/batch/state - Cambiar a {} el estado de {} reservaciones",
+                request.toState(), request.ids() != null ? request.ids().size() : 0);
+
+        BulkUpdateResult response = reservationServiceImpl.transitionState(
+                request.ids(), request.fromState(), request.toState());
+
+        log.info("Cambio de estado en bloque: {} actualizadas, {} omitidas",
+                response.updatedIds().size(), response.skippedIds().size());
+        return ResponseEntity.ok(response);
+    }
+
+    private static int cursorPageSize(int size) {
+        return Math.min(Math.max(size, 1), MAX_CURSOR_PAGE_SIZE);
+    }
+}
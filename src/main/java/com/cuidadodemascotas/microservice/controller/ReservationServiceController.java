@@ -1,5 +1,6 @@
 package com.cuidadodemascotas.microservice.controller;
 
+import com.cuidadodemascotas.microservice.cache.ResponseBodyCache;
 import com.cuidadodemascotas.microservice.service.reservationservice.ReservationServiceServiceImpl;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -15,7 +16,9 @@ import org.example.cuidadodemascota.commons.dto.ReservationServiceResponseDTO;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -32,6 +35,7 @@ import java.util.List;
 public class ReservationServiceController {
 
     private final ReservationServiceServiceImpl reservationServiceServiceImpl;
+    private final ResponseBodyCache responseBodyCache;
 
     /**
      * Crear una nueva relación Reservation-Service
@@ -75,15 +79,18 @@ public class ReservationServiceController {
             @ApiResponse(responseCode = "404", description = "Relación no encontrada")
     })
     @GetMapping("/{id}")
-    public ResponseEntity<ReservationServiceResponseDTO> findById(
-            @Parameter(description = "ID de la relación Reservation-Service") @PathVariable Long id) {
+    public ResponseEntity<byte[]> findById(
+            @Parameter(description = "ID de la relación Reservation-Service") @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
 
         log.info("GET /reservation-services/{} - Buscar por ID", id);
 
-        ReservationServiceResponseDTO response = reservationServiceServiceImpl.getById(id);
+        // Cuerpo JSON ya serializado desde la cache; en un fallo se obtiene del servicio
+        ResponseBodyCache.CachedBody body = responseBodyCache.get("reservation_services", "byId_" + id,
+                ResponseBodyCache.acceptsGzip(acceptEncoding), () -> reservationServiceServiceImpl.getById(id));
 
         log.info("Relación encontrada con ID: {}", id);
-        return ResponseEntity.ok(response);
+        return body.toResponse();
     }
 
     /**
@@ -158,6 +165,78 @@ public class ReservationServiceController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Listar relaciones sin total (slice=true): una fila de más para hasNext y ninguna consulta COUNT
+     * @param page
+     * @param size
+     * @param sortBy
+     * @param sortDir
+     * @return
+     */
+    @PreAuthorize("hasAnyAuthority('ROLE_CARER', 'ROLE_OWNER')")
+    @Operation(summary = "Listar relaciones sin total",
+            description = "Obtiene una página de relaciones Reservation-Service activas con hasNext y sin calcular el total")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página obtenida exitosamente")
+    })
+    @GetMapping(params = "slice=true")
+    public ResponseEntity<Slice<ReservationServiceResponseDTO>> findAllSlice(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "DESC") String sortDir) {
+
+        log.info("GET /reservation-services - Listar sin total (page={}, size={}, sortBy={}, sortDir={})",
+                page, size, sortBy, sortDir);
+
+        Sort.Direction direction = sortDir.equalsIgnoreCase("ASC") ? Sort.Direction.ASC : Sort.Direction.DESC;
+        Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
+
+        Slice<ReservationServiceResponseDTO> response = reservationServiceServiceImpl.findAllSlice(pageable);
+
+        log.info("Se obtuvieron {} relaciones (hay más: {})", response.getNumberOfElements(), response.hasNext());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Buscar relaciones con filtros sin total (slice=true): sin consulta COUNT
+     * @param reservationId
+     * @param serviceId
+     * @param page
+     * @param size
+     * @param sortBy
+     * @param sortDir
+     * @return
+     */
+    @PreAuthorize("hasAnyAuthority('ROLE_CARER', 'ROLE_OWNER')")
+    @Operation(summary = "Buscar relaciones con filtros sin total",
+            description = "Busca relaciones Reservation-Service aplicando filtros opcionales; devuelve hasNext sin calcular el total")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Búsqueda realizada exitosamente")
+    })
+    @GetMapping(value = "/search", params = "slice=true")
+    public ResponseEntity<Slice<ReservationServiceResponseDTO>> searchSlice(
+            @Parameter(description = "ID de la reservación") @RequestParam(required = false) Long reservationId,
+            @Parameter(description = "ID del servicio") @RequestParam(required = false) Long serviceId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "DESC") String sortDir) {
+
+        log.info("GET /reservation-services/search - Sin total. Filtros: reservationId={}, serviceId={}",
+                reservationId, serviceId);
+
+        Sort.Direction direction = sortDir.equalsIgnoreCase("ASC") ? Sort.Direction.ASC : Sort.Direction.DESC;
+        Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
+
+        Slice<ReservationServiceResponseDTO> response =
+                reservationServiceServiceImpl.findByFiltersSlice(reservationId, serviceId, pageable);
+
+        log.info("Búsqueda sin total completada: {} resultados (hay más: {})",
+                response.getNumberOfElements(), response.hasNext());
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Obtener servicios por reservación
      * @param reservationId
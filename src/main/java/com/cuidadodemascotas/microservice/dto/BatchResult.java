@@ -0,0 +1,30 @@
+package com.cuidadodemascotas.microservice.dto;
+
+import java.util.List;
+
+/**
+ * Resultado de una operación en lote: un elemento por entrada, en el orden de la petición,
+ * con el código HTTP que habría devuelto la operación individual y el recurso o el error
+ */
+public record BatchResult<T>(int succeeded, int failed, List<Item<T>> items) {
+
+    public record Item<T>(int index, int status, T result, String error) {
+
+        public static <T> Item<T> success(int index, int status, T result) {
+            return new Item<>(index, status, result, null);
+        }
+
+        public static <T> Item<T> failure(int index, int status, String error) {
+            return new Item<>(index, status, null, error);
+        }
+    }
+
+    public static <T> BatchResult<T> of(List<Item<T>> items) {
+        int failed = (int) items.stream().filter(item -> item.error() != null).count();
+        return new BatchResult<>(items.size() - failed, failed, items);
+    }
+
+    public boolean hasFailures() {
+        return failed > 0;
+    }
+}
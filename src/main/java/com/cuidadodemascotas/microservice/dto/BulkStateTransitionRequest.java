@@ -0,0 +1,13 @@
+package com.cuidadodemascotas.microservice.dto;
+
+import org.example.cuidadodemascota.commons.entities.enums.ReservationStateEnum;
+
+import java.util.List;
+
+/**
+ * Cambio de estado en bloque: las reservaciones de ids pasan a toState; si fromState no es
+ * null, solo las que estén en fromState
+ */
+public record BulkStateTransitionRequest(List<Long> ids, ReservationStateEnum fromState,
+                                         ReservationStateEnum toState) {
+}
@@ -0,0 +1,10 @@
+package com.cuidadodemascotas.microservice.dto;
+
+import java.util.List;
+
+/**
+ * Resultado de un cambio en bloque: IDs modificados e IDs omitidos (inexistentes, inactivos o
+ * bloqueados por las reglas de negocio de la operación individual)
+ */
+public record BulkUpdateResult(List<Long> updatedIds, List<Long> skippedIds) {
+}
@@ -0,0 +1,15 @@
+package com.cuidadodemascotas.microservice.dto;
+
+import java.util.List;
+
+/**
+ * Página de un recorrido por cursor (keyset): los elementos y el token opaco para pedir la
+ * siguiente. nextCursor es null en la última página. No incluye el total: contarlo costaría
+ * un recorrido completo en cada página.
+ */
+public record CursorPage<T>(List<T> content, int size, String nextCursor) {
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,40 @@
+package com.cuidadodemascotas.microservice.dto;
+
+import com.cuidadodemascotas.microservice.exception.BusinessValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Posición de un recorrido por (serviceDate, id): la última fila devuelta. Se entrega al cliente
+ * como token opaco (Base64 URL-safe) para que no dependa de su formato.
+ */
+public record SeekCursor(LocalDateTime serviceDate, Long id) {
+
+    private static final String VERSION = "1";
+
+    public String encode() {
+        String raw = VERSION + "|" + serviceDate + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica un token; null o vacío es la primera página
+     */
+    public static SeekCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|");
+            if (parts.length != 3 || !VERSION.equals(parts[0])) {
+                throw new BusinessValidationException("Cursor de paginación no válido");
+            }
+            return new SeekCursor(LocalDateTime.parse(parts[1]), Long.valueOf(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BusinessValidationException("Cursor de paginación no válido");
+        }
+    }
+}
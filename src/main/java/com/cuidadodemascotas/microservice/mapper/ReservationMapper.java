@@ -1,5 +1,6 @@
 package com.cuidadodemascotas.microservice.mapper;
 
+import com.cuidadodemascotas.microservice.repository.projection.ReservationRow;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.cuidadodemascota.commons.dto.ReservationRequestDTO;
@@ -98,6 +99,24 @@ public class ReservationMapper implements IBaseMapper<Reservation, ReservationRe
         return dto;
     }
 
+    /**
+     * Convierte una proyección de lectura a Response DTO (mismo resultado que toDto(Reservation))
+     */
+    public ReservationResponseDTO toDto(ReservationRow row) {
+        ReservationResponseDTO dto = new ReservationResponseDTO();
+        dto.setId(row.id());
+        dto.setOwnerId(row.ownerId());
+        dto.setCarerId(row.carerId());
+        dto.setServiceDate(row.serviceDate() != null ? row.serviceDate().atOffset(ZoneOffset.of("-03:00")) : null);
+        if (row.state() != null) {
+            dto.setReservationState(convertToDtoEnum(row.state()));
+        }
+        dto.setCreatedAt(row.createdAt() != null ? row.createdAt().atOffset(ZoneOffset.of("-03:00")) : null);
+        dto.setUpdatedAt(row.updatedAt() != null ? row.updatedAt().atOffset(ZoneOffset.of("-03:00")) : null);
+        dto.setActive(row.active());
+        return dto;
+    }
+
     /**
      * Actualiza una entity existente con los datos del Request DTO
      * IMPORTANTE: No actualiza las relaciones (owner, carer), solo datos básicos
@@ -1,5 +1,6 @@
 package com.cuidadodemascotas.microservice.mapper;
 
+import com.cuidadodemascotas.microservice.repository.projection.ReservationServiceRow;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.cuidadodemascota.commons.dto.ReservationServiceRequestDTO;
@@ -80,6 +81,20 @@ public class ReservationServiceMapper implements IBaseMapper<ReservationService,
         return dto;
     }
 
+    /**
+     * Convierte una proyección de lectura a Response DTO (mismo resultado que toDto(ReservationService))
+     */
+    public ReservationServiceResponseDTO toDto(ReservationServiceRow row) {
+        ReservationServiceResponseDTO dto = new ReservationServiceResponseDTO();
+        dto.setId(row.id());
+        dto.setReservationId(row.reservationId());
+        dto.setServiceId(row.serviceId());
+        dto.setCreatedAt(row.createdAt() != null ? row.createdAt().atOffset(ZoneOffset.of("-03:00")) : null);
+        dto.setUpdatedAt(row.updatedAt() != null ? row.updatedAt().atOffset(ZoneOffset.of("-03:00")) : null);
+        dto.setActive(row.active());
+        return dto;
+    }
+
     /**
      * Configura las relaciones de la entity (Reservation y Service)
      * Se llama desde el servicio después de buscar las entidades relacionadas
@@ -1,23 +1,27 @@
 package com.cuidadodemascotas.microservice.repository;
 
-import org.example.cuidadodemascota.commons.entities.enums.ReservationStateEnum;
+import com.cuidadodemascotas.microservice.repository.projection.CarerBooking;
+import com.cuidadodemascotas.microservice.repository.projection.ReservationRow;
 import org.example.cuidadodemascota.commons.entities.reservation.Reservation;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
  * Repositorio para la entidad Reservation
- * Incluye queries personalizadas para búsquedas con filtros
+ * Las búsquedas con filtros opcionales están en {@link ReservationFilterRepository}
  */
 @Repository
-public interface IReservationRepository extends JpaRepository<Reservation, Long> {
+public interface IReservationRepository extends JpaRepository<Reservation, Long>,
+        ReservationFilterRepository, ReservationBatchRepository {
 
     /**
      * Busca una reservación por ID que esté activa
@@ -26,33 +30,93 @@ public interface IReservationRepository extends JpaRepository<Reservation, Long>
     Optional<Reservation> findByIdAndActiveTrue(@Param("id") Long id);
 
     /**
-     * Obtiene todas las reservaciones activas con paginación
+     * Reservaciones activas proyectadas (sin entidades) como Slice: una fila de más para saber
+     * si hay siguiente, sin COUNT
      */
-    Page<Reservation> findByActiveTrue(Pageable pageable);
+    @Query("""
+            SELECT new com.cuidadodemascotas.microservice.repository.projection.ReservationRow(
+                r.id, r.owner.id, r.carer.id, r.serviceDate, r.state, r.createdAt, r.updatedAt, r.active)
+            FROM Reservation r
+            WHERE r.active = true
+            """)
+    Slice<ReservationRow> findActiveRows(Pageable pageable);
+
+    /**
+     * Cuenta las reservaciones activas
+     */
+    long countByActiveTrue();
+
+    /**
+     * IDs activos mayores que afterId en orden ascendente (recorrido por keyset)
+     */
+    @Query("SELECT r.id FROM Reservation r WHERE r.active = true AND r.id > :afterId ORDER BY r.id")
+    List<Long> findActiveIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
 
     /**
-     * Búsqueda con filtros opcionales
-     * Permite buscar por: ownerId, carerId, estado, rango de fechas
+     * IDs (activos o no) de las reservaciones de un owner, por keyset
+     */
+    @Query("SELECT r.id FROM Reservation r WHERE r.owner.id = :ownerId AND r.id > :afterId ORDER BY r.id")
+    List<Long> findIdsByOwnerAfter(@Param("ownerId") Long ownerId, @Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * IDs (activos o no) de las reservaciones de un carer, por keyset
+     */
+    @Query("SELECT r.id FROM Reservation r WHERE r.carer.id = :carerId AND r.id > :afterId ORDER BY r.id")
+    List<Long> findIdsByCarerAfter(@Param("carerId") Long carerId, @Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Reservaciones activas con fecha de servicio hasta :to, posteriores a (afterDate, afterId)
+     * en orden (serviceDate, id). Recorrido por keyset para el precalentamiento de cache.
      */
     @Query("""
             SELECT r FROM Reservation r
             WHERE r.active = true
-            AND (:ownerId IS NULL OR r.owner.id = :ownerId)
-            AND (:carerId IS NULL OR r.carer.id = :carerId)
-            AND (:state IS NULL OR r.state = :state)
-            AND (CAST(:startDate AS timestamp) IS NULL OR r.serviceDate >= :startDate)
-            AND (CAST(:endDate AS timestamp) IS NULL OR r.serviceDate <= :endDate)
-            ORDER BY r.serviceDate DESC
+            AND r.serviceDate <= :to
+            AND (r.serviceDate > :afterDate OR (r.serviceDate = :afterDate AND r.id > :afterId))
+            ORDER BY r.serviceDate, r.id
             """)
-    Page<Reservation> findByFilters(
-            @Param("ownerId") Long ownerId,
-            @Param("carerId") Long carerId,
-            @Param("state") ReservationStateEnum state,
-            @Param("startDate") LocalDateTime startDate,
-            @Param("endDate") LocalDateTime endDate,
+    List<Reservation> findUpcomingAfter(
+            @Param("afterDate") LocalDateTime afterDate,
+            @Param("afterId") Long afterId,
+            @Param("to") LocalDateTime to,
+            Pageable pageable
+    );
+
+    /**
+     * Reservaciones (activas o no) posteriores a (afterUpdatedAt, afterId) en orden (updatedAt, id).
+     * Recorrido por keyset para la reconciliación de cache con la base de datos, sobre el índice
+     * idx_reservation_updated_at_id; el primer predicado redundante da la condición de rango del índice.
+     */
+    @Query("""
+            SELECT r FROM Reservation r
+            WHERE r.updatedAt >= :afterUpdatedAt
+              AND (r.updatedAt > :afterUpdatedAt OR (r.updatedAt = :afterUpdatedAt AND r.id > :afterId))
+            ORDER BY r.updatedAt, r.id
+            """)
+    List<Reservation> findUpdatedAfter(
+            @Param("afterUpdatedAt") LocalDateTime afterUpdatedAt,
+            @Param("afterId") Long afterId,
             Pageable pageable
     );
 
+    /**
+     * Horarios ocupados (PENDING o ACCEPTED) de varios carers en un rango: conflictos de un lote
+     * con una sola consulta
+     */
+    @Query("""
+            SELECT new com.cuidadodemascotas.microservice.repository.projection.CarerBooking(r.carer.id, r.serviceDate)
+            FROM Reservation r
+            WHERE r.carer.id IN :carerIds
+            AND r.active = true
+            AND r.state IN ('PENDING', 'ACCEPTED')
+            AND r.serviceDate BETWEEN :startDate AND :endDate
+            """)
+    List<CarerBooking> findCarerBookings(
+            @Param("carerIds") Collection<Long> carerIds,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate
+    );
+
     /**
      * Cuenta reservaciones activas de un owner
      */
@@ -1,21 +1,25 @@
 package com.cuidadodemascotas.microservice.repository;
 
+import com.cuidadodemascotas.microservice.repository.projection.ReservationServiceRow;
 import org.example.cuidadodemascota.commons.entities.reservation.ReservationService;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 /**
  * Repositorio para la entidad ReservationService (relación muchos-a-muchos)
+ * Las búsquedas con filtros opcionales están en {@link ReservationServiceFilterRepository}
  */
 @Repository
-public interface IReservationServiceRepository extends JpaRepository<ReservationService, Long> {
+public interface IReservationServiceRepository extends JpaRepository<ReservationService, Long>,
+        ReservationServiceFilterRepository, ReservationServiceBatchRepository {
 
     /**
      * Busca un ReservationService por ID que esté activo
@@ -24,25 +28,27 @@ public interface IReservationServiceRepository extends JpaRepository<Reservation
     Optional<ReservationService> findByIdAndActiveTrue(@Param("id") Long id);
 
     /**
-     * Obtiene todos los ReservationServices activos con paginación
-     */
-    Page<ReservationService> findByActiveTrue(Pageable pageable);
-
-    /**
-     * Búsqueda con filtros: por reservationId o serviceId
+     * ReservationServices activos proyectados (sin entidades) como Slice: una fila de más para
+     * saber si hay siguiente, sin COUNT
      */
     @Query("""
-            SELECT rs FROM ReservationService rs
+            SELECT new com.cuidadodemascotas.microservice.repository.projection.ReservationServiceRow(
+                rs.id, rs.reservation.id, rs.service.id, rs.createdAt, rs.updatedAt, rs.active)
+            FROM ReservationService rs
             WHERE rs.active = true
-            AND (:reservationId IS NULL OR rs.reservation.id = :reservationId)
-            AND (:serviceId IS NULL OR rs.service.id = :serviceId)
-            ORDER BY rs.createdAt DESC
             """)
-    Page<ReservationService> findByFilters(
-            @Param("reservationId") Long reservationId,
-            @Param("serviceId") Long serviceId,
-            Pageable pageable
-    );
+    Slice<ReservationServiceRow> findActiveRows(Pageable pageable);
+
+    /**
+     * Cuenta los ReservationServices activos
+     */
+    long countByActiveTrue();
+
+    /**
+     * IDs activos mayores que afterId en orden ascendente (recorrido por keyset)
+     */
+    @Query("SELECT rs.id FROM ReservationService rs WHERE rs.active = true AND rs.id > :afterId ORDER BY rs.id")
+    List<Long> findActiveIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
 
     /**
      * Obtiene todos los servicios de una reservación específica
@@ -50,12 +56,40 @@ public interface IReservationServiceRepository extends JpaRepository<Reservation
     @Query("SELECT rs FROM ReservationService rs WHERE rs.reservation.id = :reservationId AND rs.active = true")
     List<ReservationService> findByReservationIdAndActiveTrue(@Param("reservationId") Long reservationId);
 
+    /**
+     * Servicios activos de varias reservaciones en una sola consulta
+     */
+    @Query("SELECT rs FROM ReservationService rs WHERE rs.reservation.id IN :reservationIds AND rs.active = true")
+    List<ReservationService> findByReservationIdInAndActiveTrue(@Param("reservationIds") Collection<Long> reservationIds);
+
+    /**
+     * Servicios activos de una reservación, proyectados (lectura)
+     */
+    @Query("""
+            SELECT new com.cuidadodemascotas.microservice.repository.projection.ReservationServiceRow(
+                rs.id, rs.reservation.id, rs.service.id, rs.createdAt, rs.updatedAt, rs.active)
+            FROM ReservationService rs
+            WHERE rs.reservation.id = :reservationId AND rs.active = true
+            """)
+    List<ReservationServiceRow> findRowsByReservationId(@Param("reservationId") Long reservationId);
+
     /**
      * Obtiene todas las reservaciones que tienen un servicio específico
      */
     @Query("SELECT rs FROM ReservationService rs WHERE rs.service.id = :serviceId AND rs.active = true")
     List<ReservationService> findByServiceIdAndActiveTrue(@Param("serviceId") Long serviceId);
 
+    /**
+     * Reservaciones activas de un servicio, proyectadas (lectura)
+     */
+    @Query("""
+            SELECT new com.cuidadodemascotas.microservice.repository.projection.ReservationServiceRow(
+                rs.id, rs.reservation.id, rs.service.id, rs.createdAt, rs.updatedAt, rs.active)
+            FROM ReservationService rs
+            WHERE rs.service.id = :serviceId AND rs.active = true
+            """)
+    List<ReservationServiceRow> findRowsByServiceId(@Param("serviceId") Long serviceId);
+
     /**
      * Verifica si ya existe la relación entre una reservación y un servicio
      */
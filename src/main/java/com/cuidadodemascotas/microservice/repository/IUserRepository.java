@@ -6,6 +6,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -15,4 +17,10 @@ import java.util.Optional;
 public interface IUserRepository extends JpaRepository<User, Long> {
     @Query("SELECT u FROM User u WHERE u.id = :id AND u.active = true")
     Optional<User> findByIdAndActiveTrue(@Param("id") Long id);
+
+    /**
+     * IDs activos entre los dados, en una sola consulta (validación de lotes)
+     */
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids AND u.active = true")
+    List<Long> findActiveIdsIn(@Param("ids") Collection<Long> ids);
 }
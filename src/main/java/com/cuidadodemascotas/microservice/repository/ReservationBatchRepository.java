@@ -0,0 +1,34 @@
+package com.cuidadodemascotas.microservice.repository;
+
+import com.cuidadodemascotas.microservice.repository.projection.ReservationRow;
+import org.example.cuidadodemascota.commons.entities.enums.ReservationStateEnum;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Operaciones en lote sobre reservaciones, cada una en una sola sentencia
+ * (ver {@link ReservationBatchRepositoryImpl})
+ */
+public interface ReservationBatchRepository {
+
+    /**
+     * Inserta las filas (se ignora su id) y devuelve los IDs generados, en el mismo orden
+     */
+    List<Long> insertAll(List<ReservationRow> rows);
+
+    /**
+     * Borrado lógico de las reservaciones activas indicadas que no estén ACCEPTED (misma regla
+     * que el borrado individual). Devuelve las filas afectadas, ya actualizadas.
+     */
+    List<ReservationRow> softDeleteAll(Collection<Long> ids, LocalDateTime updatedAt);
+
+    /**
+     * Pasa a toState las reservaciones activas indicadas que no estén FINISHED ni PAID (misma
+     * regla que la actualización individual) y, si fromState no es null, estén en fromState.
+     * Devuelve las filas afectadas, ya actualizadas.
+     */
+    List<ReservationRow> transitionState(Collection<Long> ids, ReservationStateEnum fromState,
+                                         ReservationStateEnum toState, LocalDateTime updatedAt);
+}
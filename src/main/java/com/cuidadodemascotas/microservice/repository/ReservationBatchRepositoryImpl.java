@@ -0,0 +1,118 @@
+package com.cuidadodemascotas.microservice.repository;
+
+import com.cuidadodemascotas.microservice.repository.projection.ReservationRow;
+import org.example.cuidadodemascota.commons.entities.enums.ReservationStateEnum;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementación de {@link ReservationBatchRepository} con JDBC.
+ *
+ * Reservation usa GenerationType.IDENTITY (entidad de la librería compartida), y con IDENTITY
+ * Hibernate desactiva el batching de inserts: cada persist es un INSERT con su ida y vuelta.
+ * Aquí el INSERT se envía en batch y el driver devuelve los IDs de la secuencia de la tabla
+ * (RETURNING id), sin cambiar la estrategia de IDs que comparten los demás servicios.
+ *
+ * Los cambios en bloque son un único UPDATE ... RETURNING, sin cargar entidades: las filas
+ * devueltas son exactamente las afectadas, para invalidar la cache con precisión. No pasan por
+ * el contexto de persistencia, así que no deben mezclarse con entidades modificadas sin flush.
+ * Participa en la transacción JPA en curso (misma conexión).
+ */
+public class ReservationBatchRepositoryImpl implements ReservationBatchRepository {
+
+    private static final String INSERT = """
+            INSERT INTO reservation (owner_id, carer_id, service_date, state, created_at, updated_at, active)
+            VALUES (:ownerId, :carerId, :serviceDate, :state, :createdAt, :updatedAt, :active)
+            """;
+
+    private static final String RETURNING =
+            " RETURNING id, owner_id, carer_id, service_date, state, created_at, updated_at, active";
+
+    private static final String SOFT_DELETE = """
+            UPDATE reservation SET active = false, updated_at = :updatedAt
+            WHERE id IN (:ids) AND active = true AND state <> 'ACCEPTED'
+            """.strip() + RETURNING;
+
+    private static final String TRANSITION = """
+            UPDATE reservation SET state = :toState, updated_at = :updatedAt
+            WHERE id IN (:ids) AND active = true AND state NOT IN ('FINISHED', 'PAID')
+            """.strip();
+
+    private static final RowMapper<ReservationRow> ROW_MAPPER = (rs, rowNum) -> new ReservationRow(
+            rs.getLong("id"),
+            rs.getLong("owner_id"),
+            rs.getLong("carer_id"),
+            rs.getObject("service_date", LocalDateTime.class),
+            ReservationStateEnum.valueOf(rs.getString("state")),
+            rs.getObject("created_at", LocalDateTime.class),
+            rs.getObject("updated_at", LocalDateTime.class),
+            rs.getBoolean("active"));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public ReservationBatchRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<Long> insertAll(List<ReservationRow> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        SqlParameterSource[] batch = rows.stream()
+                .map(row -> new MapSqlParameterSource()
+                        .addValue("ownerId", row.ownerId())
+                        .addValue("carerId", row.carerId())
+                        .addValue("serviceDate", row.serviceDate())
+                        .addValue("state", row.state().name())
+                        .addValue("createdAt", row.createdAt())
+                        .addValue("updatedAt", row.updatedAt())
+                        .addValue("active", row.active()))
+                .toArray(SqlParameterSource[]::new);
+
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(INSERT, batch, keys, new String[]{"id"});
+        return keys.getKeyList().stream()
+                .map(Map::values)
+                .map(values -> ((Number) values.iterator().next()).longValue())
+                .toList();
+    }
+
+    @Override
+    public List<ReservationRow> softDeleteAll(Collection<Long> ids, LocalDateTime updatedAt) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(SOFT_DELETE, new MapSqlParameterSource()
+                .addValue("ids", ids)
+                .addValue("updatedAt", updatedAt), ROW_MAPPER);
+    }
+
+    @Override
+    public List<ReservationRow> transitionState(Collection<Long> ids, ReservationStateEnum fromState,
+                                                ReservationStateEnum toState, LocalDateTime updatedAt) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("ids", ids)
+                .addValue("toState", toState.name())
+                .addValue("updatedAt", updatedAt);
+        // Solo se añade el filtro de estado de origen si se indica (sin guardas IS NULL)
+        String sql = TRANSITION;
+        if (fromState != null) {
+            sql += " AND state = :fromState";
+            parameters.addValue("fromState", fromState.name());
+        }
+        return jdbcTemplate.query(sql + RETURNING, parameters, ROW_MAPPER);
+    }
+}
@@ -0,0 +1,42 @@
+package com.cuidadodemascotas.microservice.repository;
+
+import com.cuidadodemascotas.microservice.repository.projection.ReservationRow;
+import org.example.cuidadodemascota.commons.entities.enums.ReservationStateEnum;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Búsquedas de reservaciones con filtros opcionales, construidas con solo los predicados
+ * presentes (ver {@link ReservationFilterRepositoryImpl})
+ */
+public interface ReservationFilterRepository {
+
+    /**
+     * Reservaciones activas filtradas, proyectadas, como Slice (sin COUNT)
+     */
+    Slice<ReservationRow> findRowsByFilters(
+            Long ownerId, Long carerId, ReservationStateEnum state,
+            LocalDateTime startDate, LocalDateTime endDate,
+            Pageable pageable);
+
+    /**
+     * Total de la misma búsqueda, cacheado aparte por filtro
+     */
+    long countByFilters(
+            Long ownerId, Long carerId, ReservationStateEnum state,
+            LocalDateTime startDate, LocalDateTime endDate);
+
+    /**
+     * Misma búsqueda paginada por keyset en orden (serviceDate DESC, id DESC): filas posteriores
+     * a (afterDate, afterId), o desde el principio si afterDate es null. Solo se usa el tamaño
+     * de pageable.
+     */
+    List<ReservationRow> findRowsByFiltersAfter(
+            Long ownerId, Long carerId, ReservationStateEnum state,
+            LocalDateTime startDate, LocalDateTime endDate,
+            LocalDateTime afterDate, Long afterId,
+            Pageable pageable);
+}
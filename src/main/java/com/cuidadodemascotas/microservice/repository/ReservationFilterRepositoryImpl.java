@@ -0,0 +1,108 @@
+package com.cuidadodemascotas.microservice.repository;
+
+import com.cuidadodemascotas.microservice.repository.projection.ReservationRow;
+import com.cuidadodemascotas.microservice.repository.query.JpqlQueryBuilder;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.example.cuidadodemascota.commons.entities.enums.ReservationStateEnum;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Implementación de {@link ReservationFilterRepository}: cada combinación de filtros genera
+ * su propia consulta (owner, carer, estado y rango de fechas solo aparecen si se indican), así
+ * que Postgres planifica cada forma con los índices que le corresponden.
+ */
+public class ReservationFilterRepositoryImpl implements ReservationFilterRepository {
+
+    private static final String ROW_SELECT = "SELECT new " + ReservationRow.class.getName()
+            + "(r.id, r.owner.id, r.carer.id, r.serviceDate, r.state, r.createdAt, r.updatedAt, r.active)"
+            + " FROM Reservation r";
+    private static final String COUNT_SELECT = "SELECT COUNT(r) FROM Reservation r";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Slice<ReservationRow> findRowsByFilters(Long ownerId, Long carerId, ReservationStateEnum state,
+                                                   LocalDateTime startDate, LocalDateTime endDate,
+                                                   Pageable pageable) {
+        JpqlQueryBuilder.Query query = rowsQuery(ownerId, carerId, state, startDate, endDate);
+        String jpql = QueryUtils.applySorting(query.jpql(), pageable.getSort(), "r");
+
+        TypedQuery<ReservationRow> typed = bind(entityManager.createQuery(jpql, ReservationRow.class), query);
+        typed.setFirstResult((int) pageable.getOffset());
+        // Una fila de más para saber si hay página siguiente
+        typed.setMaxResults(pageable.getPageSize() + 1);
+        List<ReservationRow> rows = typed.getResultList();
+
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+    }
+
+    @Override
+    public long countByFilters(Long ownerId, Long carerId, ReservationStateEnum state,
+                               LocalDateTime startDate, LocalDateTime endDate) {
+        JpqlQueryBuilder.Query query = countQuery(ownerId, carerId, state, startDate, endDate);
+        return bind(entityManager.createQuery(query.jpql(), Long.class), query).getSingleResult();
+    }
+
+    @Override
+    public List<ReservationRow> findRowsByFiltersAfter(Long ownerId, Long carerId, ReservationStateEnum state,
+                                                       LocalDateTime startDate, LocalDateTime endDate,
+                                                       LocalDateTime afterDate, Long afterId,
+                                                       Pageable pageable) {
+        JpqlQueryBuilder.Query query = rowsAfterQuery(ownerId, carerId, state, startDate, endDate, afterDate, afterId);
+        return bind(entityManager.createQuery(query.jpql(), ReservationRow.class), query)
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+    }
+
+    static JpqlQueryBuilder.Query rowsQuery(Long ownerId, Long carerId, ReservationStateEnum state,
+                                            LocalDateTime startDate, LocalDateTime endDate) {
+        return filters(JpqlQueryBuilder.select(ROW_SELECT),
+                ownerId, carerId, state, startDate, endDate)
+                .orderBy("r.serviceDate DESC")
+                .build();
+    }
+
+    static JpqlQueryBuilder.Query countQuery(Long ownerId, Long carerId, ReservationStateEnum state,
+                                             LocalDateTime startDate, LocalDateTime endDate) {
+        return filters(JpqlQueryBuilder.select(COUNT_SELECT),
+                ownerId, carerId, state, startDate, endDate)
+                .build();
+    }
+
+    static JpqlQueryBuilder.Query rowsAfterQuery(Long ownerId, Long carerId, ReservationStateEnum state,
+                                                 LocalDateTime startDate, LocalDateTime endDate,
+                                                 LocalDateTime afterDate, Long afterId) {
+        return filters(JpqlQueryBuilder.select(ROW_SELECT),
+                ownerId, carerId, state, startDate, endDate)
+                .and("(r.serviceDate < :afterDate OR (r.serviceDate = :afterDate AND r.id < :afterId))",
+                        "afterDate", afterDate, "afterId", afterId)
+                .orderBy("r.serviceDate DESC, r.id DESC")
+                .build();
+    }
+
+    private static JpqlQueryBuilder filters(JpqlQueryBuilder builder, Long ownerId, Long carerId,
+                                            ReservationStateEnum state,
+                                            LocalDateTime startDate, LocalDateTime endDate) {
+        return builder.where("r.active = true")
+                .and("r.owner.id = :ownerId", "ownerId", ownerId)
+                .and("r.carer.id = :carerId", "carerId", carerId)
+                .and("r.state = :state", "state", state)
+                .and("r.serviceDate >= :startDate", "startDate", startDate)
+                .and("r.serviceDate <= :endDate", "endDate", endDate);
+    }
+
+    private static <T> TypedQuery<T> bind(TypedQuery<T> typed, JpqlQueryBuilder.Query query) {
+        query.parameters().forEach(typed::setParameter);
+        return typed;
+    }
+}
@@ -0,0 +1,20 @@
+package com.cuidadodemascotas.microservice.repository;
+
+import com.cuidadodemascotas.microservice.repository.projection.ReservationServiceRow;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Operaciones en lote sobre ReservationServices, cada una en una sola sentencia
+ * (ver {@link ReservationServiceBatchRepositoryImpl})
+ */
+public interface ReservationServiceBatchRepository {
+
+    /**
+     * Borrado lógico de todos los servicios activos de las reservaciones indicadas. Devuelve
+     * las filas afectadas, ya actualizadas.
+     */
+    List<ReservationServiceRow> deactivateByReservationIds(Collection<Long> reservationIds, LocalDateTime updatedAt);
+}
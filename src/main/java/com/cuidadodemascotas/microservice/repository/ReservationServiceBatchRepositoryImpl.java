@@ -0,0 +1,47 @@
+package com.cuidadodemascotas.microservice.repository;
+
+import com.cuidadodemascotas.microservice.repository.projection.ReservationServiceRow;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Implementación de {@link ReservationServiceBatchRepository}: un único UPDATE ... RETURNING
+ * en lugar de cargar cada fila y guardarla (N UPDATE y N dirty checks). Mismas salvedades que
+ * {@link ReservationBatchRepositoryImpl} respecto al contexto de persistencia.
+ */
+public class ReservationServiceBatchRepositoryImpl implements ReservationServiceBatchRepository {
+
+    private static final String DEACTIVATE_BY_RESERVATION = """
+            UPDATE reservation_service SET active = false, updated_at = :updatedAt
+            WHERE reservation_id IN (:reservationIds) AND active = true
+            RETURNING id, reservation_id, service_id, created_at, updated_at, active
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public ReservationServiceBatchRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<ReservationServiceRow> deactivateByReservationIds(Collection<Long> reservationIds,
+                                                                  LocalDateTime updatedAt) {
+        if (reservationIds.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(DEACTIVATE_BY_RESERVATION, new MapSqlParameterSource()
+                        .addValue("reservationIds", reservationIds)
+                        .addValue("updatedAt", updatedAt),
+                (rs, rowNum) -> new ReservationServiceRow(
+                        rs.getLong("id"),
+                        rs.getLong("reservation_id"),
+                        rs.getLong("service_id"),
+                        rs.getObject("created_at", LocalDateTime.class),
+                        rs.getObject("updated_at", LocalDateTime.class),
+                        rs.getBoolean("active")));
+    }
+}
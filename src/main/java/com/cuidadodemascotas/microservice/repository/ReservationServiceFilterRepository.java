@@ -0,0 +1,22 @@
+package com.cuidadodemascotas.microservice.repository;
+
+import com.cuidadodemascotas.microservice.repository.projection.ReservationServiceRow;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+/**
+ * Búsquedas de ReservationServices con filtros opcionales, construidas con solo los
+ * predicados presentes (ver {@link ReservationServiceFilterRepositoryImpl})
+ */
+public interface ReservationServiceFilterRepository {
+
+    /**
+     * ReservationServices activos filtrados por reservationId y/o serviceId, proyectados, como Slice (sin COUNT)
+     */
+    Slice<ReservationServiceRow> findRowsByFilters(Long reservationId, Long serviceId, Pageable pageable);
+
+    /**
+     * Total de la misma búsqueda, cacheado aparte por filtro
+     */
+    long countByFilters(Long reservationId, Long serviceId);
+}
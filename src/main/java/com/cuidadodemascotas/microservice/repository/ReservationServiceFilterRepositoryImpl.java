@@ -0,0 +1,71 @@
+package com.cuidadodemascotas.microservice.repository;
+
+import com.cuidadodemascotas.microservice.repository.projection.ReservationServiceRow;
+import com.cuidadodemascotas.microservice.repository.query.JpqlQueryBuilder;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.List;
+
+/**
+ * Implementación de {@link ReservationServiceFilterRepository}: una consulta por combinación
+ * de filtros presentes, sin guardas "(:x IS NULL OR ...)"
+ */
+public class ReservationServiceFilterRepositoryImpl implements ReservationServiceFilterRepository {
+
+    private static final String ROW_SELECT = "SELECT new " + ReservationServiceRow.class.getName()
+            + "(rs.id, rs.reservation.id, rs.service.id, rs.createdAt, rs.updatedAt, rs.active)"
+            + " FROM ReservationService rs";
+    private static final String COUNT_SELECT = "SELECT COUNT(rs) FROM ReservationService rs";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Slice<ReservationServiceRow> findRowsByFilters(Long reservationId, Long serviceId, Pageable pageable) {
+        JpqlQueryBuilder.Query query = rowsQuery(reservationId, serviceId);
+        String jpql = QueryUtils.applySorting(query.jpql(), pageable.getSort(), "rs");
+
+        TypedQuery<ReservationServiceRow> typed = bind(entityManager.createQuery(jpql, ReservationServiceRow.class), query);
+        typed.setFirstResult((int) pageable.getOffset());
+        // Una fila de más para saber si hay página siguiente
+        typed.setMaxResults(pageable.getPageSize() + 1);
+        List<ReservationServiceRow> rows = typed.getResultList();
+
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+    }
+
+    @Override
+    public long countByFilters(Long reservationId, Long serviceId) {
+        JpqlQueryBuilder.Query query = countQuery(reservationId, serviceId);
+        return bind(entityManager.createQuery(query.jpql(), Long.class), query).getSingleResult();
+    }
+
+    static JpqlQueryBuilder.Query rowsQuery(Long reservationId, Long serviceId) {
+        return filters(JpqlQueryBuilder.select(ROW_SELECT), reservationId, serviceId)
+                .orderBy("rs.createdAt DESC")
+                .build();
+    }
+
+    static JpqlQueryBuilder.Query countQuery(Long reservationId, Long serviceId) {
+        return filters(JpqlQueryBuilder.select(COUNT_SELECT), reservationId, serviceId)
+                .build();
+    }
+
+    private static JpqlQueryBuilder filters(JpqlQueryBuilder builder, Long reservationId, Long serviceId) {
+        return builder.where("rs.active = true")
+                .and("rs.reservation.id = :reservationId", "reservationId", reservationId)
+                .and("rs.service.id = :serviceId", "serviceId", serviceId);
+    }
+
+    private static <T> TypedQuery<T> bind(TypedQuery<T> typed, JpqlQueryBuilder.Query query) {
+        query.parameters().forEach(typed::setParameter);
+        return typed;
+    }
+}
@@ -0,0 +1,10 @@
+package com.cuidadodemascotas.microservice.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Horario ocupado de un carer (reservación activa PENDING o ACCEPTED), para comprobar
+ * conflictos de un lote en memoria con una sola consulta
+ */
+public record CarerBooking(Long carerId, LocalDateTime serviceDate) {
+}
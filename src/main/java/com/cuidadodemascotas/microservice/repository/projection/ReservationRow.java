@@ -0,0 +1,22 @@
+package com.cuidadodemascotas.microservice.repository.projection;
+
+import org.example.cuidadodemascota.commons.entities.enums.ReservationStateEnum;
+
+import java.time.LocalDateTime;
+
+/**
+ * Proyección de lectura de Reservation: solo las columnas que usa ReservationResponseDTO.
+ * Las consultas la construyen directamente (SELECT new ...), sin entidades gestionadas ni
+ * snapshots de dirty-checking, y los IDs de owner/carer salen de las claves foráneas sin join.
+ */
+public record ReservationRow(
+        Long id,
+        Long ownerId,
+        Long carerId,
+        LocalDateTime serviceDate,
+        ReservationStateEnum state,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        Boolean active
+) {
+}
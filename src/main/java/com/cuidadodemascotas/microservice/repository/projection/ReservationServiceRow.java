@@ -0,0 +1,17 @@
+package com.cuidadodemascotas.microservice.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Proyección de lectura de ReservationService: solo las columnas que usa
+ * ReservationServiceResponseDTO, con los IDs de reservation/service tomados de las claves foráneas.
+ */
+public record ReservationServiceRow(
+        Long id,
+        Long reservationId,
+        Long serviceId,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        Boolean active
+) {
+}
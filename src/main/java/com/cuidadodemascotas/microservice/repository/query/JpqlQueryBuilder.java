@@ -0,0 +1,97 @@
+package com.cuidadodemascotas.microservice.repository.query;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Construye consultas JPQL con solo los predicados cuyo valor está presente, en lugar de una
+ * única sentencia con guardas "(:x IS NULL OR ...)" que impiden a Postgres usar los índices.
+ *
+ * Cada combinación de predicados presentes (forma) produce siempre el mismo texto: la cache de
+ * planes de Hibernate y la de sentencias preparadas del driver (ambas por texto de consulta)
+ * tienen así una entrada estable por forma.
+ */
+public final class JpqlQueryBuilder {
+
+    /**
+     * Consulta construida: texto JPQL y parámetros con nombre
+     */
+    public record Query(String jpql, Map<String, Object> parameters) {
+    }
+
+    private final String selectFrom;
+    private final StringBuilder where = new StringBuilder();
+    private final Map<String, Object> parameters = new LinkedHashMap<>();
+    private String orderBy;
+
+    private JpqlQueryBuilder(String selectFrom) {
+        this.selectFrom = selectFrom;
+    }
+
+    /**
+     * @param selectFrom Cláusulas SELECT y FROM
+     */
+    public static JpqlQueryBuilder select(String selectFrom) {
+        return new JpqlQueryBuilder(selectFrom);
+    }
+
+    /**
+     * Predicado que siempre se aplica
+     */
+    public JpqlQueryBuilder where(String predicate) {
+        append(predicate);
+        return this;
+    }
+
+    /**
+     * Predicado con un único parámetro; se omite si el valor es null
+     */
+    public JpqlQueryBuilder and(String predicate, String parameter, Object value) {
+        if (value != null) {
+            append(predicate);
+            parameters.put(parameter, value);
+        }
+        return this;
+    }
+
+    /**
+     * Predicado con dos parámetros (p. ej. posición de keyset); se omite si el primero es null
+     */
+    public JpqlQueryBuilder and(String predicate, String parameter, Object value,
+                                String secondParameter, Object secondValue) {
+        if (value != null) {
+            append(predicate);
+            parameters.put(parameter, value);
+            parameters.put(secondParameter, secondValue);
+        }
+        return this;
+    }
+
+    public JpqlQueryBuilder orderBy(String orderBy) {
+        this.orderBy = orderBy;
+        return this;
+    }
+
+    public Query build() {
+        return new Query(render(), Collections.unmodifiableMap(parameters));
+    }
+
+    private String render() {
+        StringBuilder jpql = new StringBuilder(selectFrom);
+        if (!where.isEmpty()) {
+            jpql.append(" WHERE ").append(where);
+        }
+        if (orderBy != null) {
+            jpql.append(" ORDER BY ").append(orderBy);
+        }
+        return jpql.toString();
+    }
+
+    private void append(String predicate) {
+        if (!where.isEmpty()) {
+            where.append(" AND ");
+        }
+        where.append(predicate);
+    }
+}
@@ -1,5 +1,8 @@
 package com.cuidadodemascotas.microservice.service.reservation;
 
+import com.cuidadodemascotas.microservice.dto.BatchResult;
+import com.cuidadodemascotas.microservice.dto.BulkUpdateResult;
+import com.cuidadodemascotas.microservice.dto.CursorPage;
 import org.example.cuidadodemascota.commons.dto.ReservationRequestDTO;
 import com.cuidadodemascotas.microservice.service.base.IBaseService;
 import org.example.cuidadodemascota.commons.dto.ReservationResponseDTO;
@@ -7,11 +10,15 @@ import org.example.cuidadodemascota.commons.dto.ReservationResult;
 import org.example.cuidadodemascota.commons.entities.enums.ReservationStateEnum;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 public interface IReservationService extends IBaseService<ReservationRequestDTO, ReservationResponseDTO, ReservationResult> {
 
+    BatchResult<ReservationResponseDTO> saveAll(List<ReservationRequestDTO> requests);
+
     ReservationResponseDTO update(Long id, ReservationRequestDTO requestDTO);
 
     Page<ReservationResponseDTO> findAll(Pageable pageable);
@@ -21,5 +28,21 @@ public interface IReservationService extends IBaseService<ReservationRequestDTO,
             LocalDateTime startDate, LocalDateTime endDate,
             Pageable pageable);
 
+    Slice<ReservationResponseDTO> findAllSlice(Pageable pageable);
+
+    Slice<ReservationResponseDTO> findByFiltersSlice(
+            Long ownerId, Long carerId, ReservationStateEnum state,
+            LocalDateTime startDate, LocalDateTime endDate,
+            Pageable pageable);
+
+    CursorPage<ReservationResponseDTO> findByFiltersCursor(
+            Long ownerId, Long carerId, ReservationStateEnum state,
+            LocalDateTime startDate, LocalDateTime endDate,
+            String cursor, int size);
+
     void delete(Long id);
+
+    BulkUpdateResult deleteAll(List<Long> ids);
+
+    BulkUpdateResult transitionState(List<Long> ids, ReservationStateEnum fromState, ReservationStateEnum toState);
 }
@@ -1,11 +1,26 @@
 package com.cuidadodemascotas.microservice.service.reservation;
 
+import com.cuidadodemascotas.microservice.cache.BulkCacheOperations;
+import com.cuidadodemascotas.microservice.cache.CacheGenerations;
+import com.cuidadodemascotas.microservice.cache.CacheTagIndex;
+import com.cuidadodemascotas.microservice.cache.CountCache;
+import com.cuidadodemascotas.microservice.cache.IdMembershipFilters;
+import com.cuidadodemascotas.microservice.cache.NotFoundCache;
+import com.cuidadodemascotas.microservice.cache.RefreshAheadLoaders;
+import com.cuidadodemascotas.microservice.cache.SearchResultCache;
+import com.cuidadodemascotas.microservice.cache.SingleFlight;
+import com.cuidadodemascotas.microservice.dto.BatchResult;
+import com.cuidadodemascotas.microservice.dto.BulkUpdateResult;
+import com.cuidadodemascotas.microservice.dto.CursorPage;
+import com.cuidadodemascotas.microservice.dto.SeekCursor;
 import com.cuidadodemascotas.microservice.exception.BusinessValidationException;
 import com.cuidadodemascotas.microservice.exception.ResourceNotFoundException;
 import com.cuidadodemascotas.microservice.mapper.ReservationMapper;
 import com.cuidadodemascotas.microservice.repository.IReservationRepository;
 import com.cuidadodemascotas.microservice.repository.IUserRepository;
+import com.cuidadodemascotas.microservice.repository.projection.ReservationRow;
 import com.cuidadodemascotas.microservice.service.base.BaseServiceImpl;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.cuidadodemascota.commons.dto.ReservationRequestDTO;
@@ -14,17 +29,33 @@ import org.example.cuidadodemascota.commons.dto.ReservationResult;
 import org.example.cuidadodemascota.commons.entities.enums.ReservationStateEnum;
 import org.example.cuidadodemascota.commons.entities.reservation.Reservation;
 import org.example.cuidadodemascota.commons.entities.user.User;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
 
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
 
 /**
  * Servicio para gestión de Reservations
@@ -41,7 +72,27 @@ public class ReservationServiceImpl
     private final IUserRepository ownerRepository;
     private final IUserRepository carerRepository;
     private final ReservationMapper reservationMapper;
-    private final CacheManager cacheManager;
+    private final SingleFlight singleFlight;
+    private final SearchResultCache searchResultCache;
+    private final CacheGenerations cacheGenerations;
+    private final CacheTagIndex cacheTagIndex;
+    private final RefreshAheadLoaders refreshAheadLoaders;
+    private final IdMembershipFilters idMembershipFilters;
+    private final NotFoundCache notFoundCache;
+    private final CountCache countCache;
+    private final BulkCacheOperations bulkCacheOperations;
+
+    // Tope de elementos por petición de creación en lote
+    @Value("${reservations.batch.max-size:500}")
+    private int maxBatchSize;
+
+    /**
+     * Loaders para refrescar en segundo plano las entradas leídas cerca de su expiración
+     */
+    @PostConstruct
+    void registerRefreshLoaders() {
+        refreshAheadLoaders.register("reservations", "byId_", id -> loadById(Long.valueOf(id)));
+    }
 
     protected ReservationResponseDTO convertEntityToDto(Reservation entity) {
         return reservationMapper.toDto(entity);
@@ -53,26 +104,37 @@ public class ReservationServiceImpl
 
     /**
      * Obtiene todas las reservaciones activas con paginación
+     * El resultado se cachea como lista de IDs (ámbito global) y se hidrata desde "reservations"
      */
-    @Transactional(readOnly = true)
     public Page<ReservationResponseDTO> findAll(Pageable pageable) {
         log.info("Obteniendo todas las Reservations - Página: {}, Tamaño: {}",
                 pageable.getPageNumber(), pageable.getPageSize());
 
-        Page<Reservation> page = reservationRepository.findByActiveTrue(pageable);
-        log.info("Se encontraron {} Reservations en la página {}",
-                page.getNumberOfElements(), page.getNumber());
+        String searchKey = "all|p=" + pageable.getPageNumber() + "|n=" + pageable.getPageSize()
+                + "|sort=" + pageable.getSort();
+
+        return searchResultCache.getOrLoad(searchKey, List.of(CacheGenerations.ALL), pageable,
+                "reservations", ReservationResponseDTO::getId, this::loadByIds, () -> {
+                    // Página sin COUNT; el total sale de la cache de totales
+                    // Proyección de solo las columnas del DTO: sin entidades gestionadas
+                    Slice<ReservationRow> slice = reservationRepository.findActiveRows(pageable);
+                    long total = countCache.getOrCount("reservations|all", List.of(CacheGenerations.ALL),
+                            reservationRepository::countByActiveTrue);
+                    Page<ReservationRow> page = new PageImpl<>(slice.getContent(), pageable, total);
+                    log.info("Se encontraron {} Reservations en la página {}",
+                            page.getNumberOfElements(), page.getNumber());
+                    return page.map(reservationMapper::toDto);
+                });
+    }
 
-        Page<ReservationResponseDTO> dtos = page.map(reservationMapper::toDto);
-        // Cache individual de reservas
-        dtos.forEach(reservation -> {
-            cacheManager.getCache("reservations")
-                    .put("byId_" + reservation.getId(), reservation);
-            log.info("Reserva con ID: {} cacheada individualmente.", reservation.getId());
-        });
-        log.info("Todas las reservas cargadas en memoria y cacheadas individualmente.");
+    /**
+     * Obtiene las reservaciones activas como Slice (hasNext, sin total ni COUNT)
+     */
+    public Slice<ReservationResponseDTO> findAllSlice(Pageable pageable) {
+        log.info("Obteniendo Reservations sin total - Página: {}, Tamaño: {}",
+                pageable.getPageNumber(), pageable.getPageSize());
 
-        return dtos;
+        return reservationRepository.findActiveRows(pageable).map(reservationMapper::toDto);
     }
 
     /**
@@ -117,25 +179,259 @@ public class ReservationServiceImpl
         Reservation saved = reservationRepository.save(reservation);
         log.info("Reservation creada exitosamente con ID: {}", saved.getId());
         log.info("Reserva guardada con ID: {}, almacenada en caché.", saved.getId());
+        bumpSearchGenerations(owner.getId(), carer.getId(), List.of());
+        idMembershipFilters.reservations().add(saved.getId());
+        notFoundCache.forget("reservations", saved.getId());
 
         return reservationMapper.toDto(saved);
     }
 
+    /**
+     * Crea varias reservaciones en una sola transacción, con el resultado de cada elemento.
+     * Los elementos inválidos (datos, owner/carer inexistente, conflicto de horario con la base
+     * de datos o con otro elemento anterior del lote) se informan y no impiden crear el resto.
+     * Consultas fijas por lote: una para los usuarios, una para los horarios ocupados y un
+     * batch JDBC para los inserts.
+     */
+    @Transactional
+    public BatchResult<ReservationResponseDTO> saveAll(List<ReservationRequestDTO> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new BusinessValidationException("El lote de reservaciones está vacío");
+        }
+        if (requests.size() > maxBatchSize) {
+            throw new BusinessValidationException(
+                    "El lote no puede superar " + maxBatchSize + " reservaciones");
+        }
+        log.info("Iniciando creación en lote de {} Reservations", requests.size());
+
+        List<BatchResult.Item<ReservationResponseDTO>> items = new ArrayList<>(Collections.nCopies(requests.size(), null));
+
+        // Validaciones de cada elemento
+        Map<Integer, Reservation> candidates = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            ReservationRequestDTO requestDTO = requests.get(i);
+            try {
+                if (requestDTO == null) {
+                    throw new BusinessValidationException("La reservación es obligatoria");
+                }
+                validateReservationRequest(requestDTO);
+                candidates.put(i, reservationMapper.toEntity(requestDTO));
+            } catch (BusinessValidationException e) {
+                items.set(i, BatchResult.Item.failure(i, HttpStatus.BAD_REQUEST.value(), e.getMessage()));
+            }
+        }
+
+        // Owners y carers (misma tabla) en una sola consulta
+        Set<Long> userIds = new HashSet<>();
+        candidates.keySet().forEach(i -> {
+            userIds.add(requests.get(i).getOwnerId());
+            userIds.add(requests.get(i).getCarerId());
+        });
+        Set<Long> activeUserIds = userIds.isEmpty() ? Set.of() : new HashSet<>(ownerRepository.findActiveIdsIn(userIds));
+        candidates.entrySet().removeIf(entry -> {
+            int i = entry.getKey();
+            ReservationRequestDTO requestDTO = requests.get(i);
+            Long missing = !activeUserIds.contains(requestDTO.getOwnerId()) ? requestDTO.getOwnerId()
+                    : !activeUserIds.contains(requestDTO.getCarerId()) ? requestDTO.getCarerId() : null;
+            if (missing == null) {
+                return false;
+            }
+            String resource = missing.equals(requestDTO.getOwnerId()) ? "Owner" : "Carer";
+            items.set(i, BatchResult.Item.failure(i, HttpStatus.NOT_FOUND.value(),
+                    new ResourceNotFoundException(resource, missing).getMessage()));
+            return true;
+        });
+
+        // Disponibilidad: horarios ocupados de todos los carers del lote en una consulta; los
+        // elementos aceptados ocupan su horario para los siguientes
+        Map<Long, TreeSet<LocalDateTime>> bookings = loadCarerBookings(candidates.values(),
+                candidates.keySet().stream().map(i -> requests.get(i).getCarerId()).collect(Collectors.toSet()));
+        LocalDateTime now = LocalDateTime.now();
+        List<Integer> accepted = new ArrayList<>();
+        List<ReservationRow> rows = new ArrayList<>();
+        candidates.forEach((i, reservation) -> {
+            Long carerId = requests.get(i).getCarerId();
+            LocalDateTime serviceDate = reservation.getServiceDate();
+            TreeSet<LocalDateTime> taken = bookings.computeIfAbsent(carerId, id -> new TreeSet<>());
+            // Mismo margen que validateCarerAvailability (±2 horas)
+            if (!taken.subSet(serviceDate.minusHours(2), true, serviceDate.plusHours(2), true).isEmpty()) {
+                items.set(i, BatchResult.Item.failure(i, HttpStatus.BAD_REQUEST.value(),
+                        "El carer no está disponible en el horario solicitado"));
+                return;
+            }
+            if (reservation.getState() == ReservationStateEnum.PENDING
+                    || reservation.getState() == ReservationStateEnum.ACCEPTED) {
+                taken.add(serviceDate);
+            }
+            accepted.add(i);
+            rows.add(new ReservationRow(null, requests.get(i).getOwnerId(), carerId, serviceDate,
+                    reservation.getState(), now, now, true));
+        });
+
+        // Inserción en un único batch JDBC
+        List<Long> ids = reservationRepository.insertAll(rows);
+        Map<String, ReservationResponseDTO> created = new LinkedHashMap<>();
+        List<String> scopes = new ArrayList<>();
+        for (int k = 0; k < ids.size(); k++) {
+            ReservationRow row = rows.get(k);
+            ReservationResponseDTO dto = reservationMapper.toDto(new ReservationRow(ids.get(k), row.ownerId(),
+                    row.carerId(), row.serviceDate(), row.state(), row.createdAt(), row.updatedAt(), row.active()));
+            items.set(accepted.get(k), BatchResult.Item.success(accepted.get(k), HttpStatus.CREATED.value(), dto));
+            created.put("byId_" + dto.getId(), dto);
+            scopes.add(CacheGenerations.ownerScope(row.ownerId()));
+            scopes.add(CacheGenerations.carerScope(row.carerId()));
+            idMembershipFilters.reservations().add(dto.getId());
+        }
+
+        if (!ids.isEmpty()) {
+            scopes.add(CacheGenerations.ALL);
+            cacheGenerations.bumpAfterCommit(scopes);
+            notFoundCache.forgetAll("reservations", ids);
+            bulkCacheOperations.putAllAfterCommit("reservations", created);
+        }
+
+        BatchResult<ReservationResponseDTO> result = BatchResult.of(items);
+        log.info("Lote de Reservations procesado: {} creadas, {} rechazadas", result.succeeded(), result.failed());
+        return result;
+    }
+
+    /**
+     * Borrado lógico en bloque con un único UPDATE. Se omiten los IDs inexistentes, inactivos o
+     * ACCEPTED (misma regla que delete); solo se invalidan las entradas de las filas afectadas.
+     */
+    @Transactional
+    public BulkUpdateResult deleteAll(List<Long> ids) {
+        List<Long> distinctIds = validateBulkIds(ids);
+        log.info("Eliminando (borrado lógico) {} Reservations en bloque", distinctIds.size());
+
+        List<ReservationRow> deleted = reservationRepository.softDeleteAll(distinctIds, LocalDateTime.now());
+
+        List<String> scopes = new ArrayList<>();
+        List<String> serviceKeys = new ArrayList<>();
+        List<String> serviceTags = new ArrayList<>();
+        deleted.forEach(row -> {
+            scopes.add(CacheGenerations.ownerScope(row.ownerId()));
+            scopes.add(CacheGenerations.carerScope(row.carerId()));
+            serviceKeys.add("byReservation_" + row.id());
+            serviceTags.add(CacheTagIndex.reservationTag(row.id()));
+        });
+        if (!deleted.isEmpty()) {
+            scopes.add(CacheGenerations.ALL);
+            cacheGenerations.bumpAfterCommit(scopes);
+            cacheTagIndex.evictDeletedAfterCommit("reservations",
+                    deleted.stream().map(row -> "byId_" + row.id()).toList(), List.of());
+            notFoundCache.markAllMissing("reservations", deleted.stream().map(ReservationRow::id).toList());
+            // Los servicios de las reservaciones eliminadas dejan de ser consultables
+            cacheTagIndex.evictAfterCommit("reservation_services", serviceKeys, serviceTags);
+        }
+
+        BulkUpdateResult result = bulkResult(distinctIds, deleted);
+        log.info("Borrado en bloque: {} eliminadas, {} omitidas", result.updatedIds().size(), result.skippedIds().size());
+        return result;
+    }
+
+    /**
+     * Cambio de estado en bloque con un único UPDATE. Se omiten los IDs inexistentes, inactivos,
+     * FINISHED o PAID (misma regla que update) y, si se indica fromState, los que no estén en él.
+     * Las entradas de las filas afectadas se reescriben con el estado nuevo.
+     */
+    @Transactional
+    public BulkUpdateResult transitionState(List<Long> ids, ReservationStateEnum fromState,
+                                            ReservationStateEnum toState) {
+        List<Long> distinctIds = validateBulkIds(ids);
+        if (toState == null) {
+            throw new BusinessValidationException("El estado destino es obligatorio");
+        }
+        log.info("Cambiando a {} el estado de {} Reservations en bloque (desde {})",
+                toState, distinctIds.size(), fromState != null ? fromState : "cualquier estado");
+
+        List<ReservationRow> updated = reservationRepository.transitionState(
+                distinctIds, fromState, toState, LocalDateTime.now());
+
+        Map<String, ReservationResponseDTO> entries = new LinkedHashMap<>();
+        List<String> scopes = new ArrayList<>();
+        updated.forEach(row -> {
+            entries.put("byId_" + row.id(), reservationMapper.toDto(row));
+            scopes.add(CacheGenerations.ownerScope(row.ownerId()));
+            scopes.add(CacheGenerations.carerScope(row.carerId()));
+        });
+        if (!updated.isEmpty()) {
+            scopes.add(CacheGenerations.ALL);
+            cacheGenerations.bumpAfterCommit(scopes);
+            bulkCacheOperations.putAllAfterCommit("reservations", entries);
+        }
+
+        BulkUpdateResult result = bulkResult(distinctIds, updated);
+        log.info("Cambio de estado en bloque: {} actualizadas, {} omitidas",
+                result.updatedIds().size(), result.skippedIds().size());
+        return result;
+    }
+
+    private List<Long> validateBulkIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new BusinessValidationException("La lista de IDs está vacía");
+        }
+        if (ids.contains(null)) {
+            throw new BusinessValidationException("La lista de IDs no puede contener valores nulos");
+        }
+        List<Long> distinctIds = ids.stream().distinct().toList();
+        if (distinctIds.size() > maxBatchSize) {
+            throw new BusinessValidationException(
+                    "El lote no puede superar " + maxBatchSize + " reservaciones");
+        }
+        return distinctIds;
+    }
+
+    private static BulkUpdateResult bulkResult(List<Long> requestedIds, List<ReservationRow> affected) {
+        Set<Long> affectedIds = affected.stream().map(ReservationRow::id).collect(Collectors.toSet());
+        List<Long> updatedIds = requestedIds.stream().filter(affectedIds::contains).toList();
+        List<Long> skippedIds = requestedIds.stream().filter(id -> !affectedIds.contains(id)).toList();
+        return new BulkUpdateResult(updatedIds, skippedIds);
+    }
+
+    /**
+     * Horarios ocupados por carer en el rango de fechas del lote (±2 horas)
+     */
+    private Map<Long, TreeSet<LocalDateTime>> loadCarerBookings(Collection<Reservation> reservations, Set<Long> carerIds) {
+        Map<Long, TreeSet<LocalDateTime>> bookings = new HashMap<>();
+        if (reservations.isEmpty()) {
+            return bookings;
+        }
+        LocalDateTime from = reservations.stream().map(Reservation::getServiceDate).min(Comparator.naturalOrder()).orElseThrow();
+        LocalDateTime to = reservations.stream().map(Reservation::getServiceDate).max(Comparator.naturalOrder()).orElseThrow();
+        reservationRepository.findCarerBookings(carerIds, from.minusHours(2), to.plusHours(2))
+                .forEach(booking -> bookings.computeIfAbsent(booking.carerId(), id -> new TreeSet<>())
+                        .add(booking.serviceDate()));
+        return bookings;
+    }
+
     /**
      * Obtiene una reservación por ID
+     * Sin @Transactional: las peticiones coalescidas esperan sin retener una conexión del pool
      */
-    @Transactional(readOnly = true)
     @Cacheable(value = "reservations", key = "'byId_' + #id")
     public ReservationResponseDTO getById(Long id) {
         log.info("Buscando Reservation por ID: {}", id);
 
+        // IDs fuera del filtro y recordados como inexistentes: se rechazan sin consultar la base de datos
+        if (!idMembershipFilters.reservations().probablyContains(id) && notFoundCache.isKnownMissing("reservations", id)) {
+            log.debug("Reservation con ID {} descartada sin consultar la base de datos", id);
+            throw new ResourceNotFoundException("Reservation", id);
+        }
+
+        return singleFlight.execute("reservations", "byId_" + id, () -> loadById(id));
+    }
+
+    private ReservationResponseDTO loadById(Long id) {
         Reservation reservation = reservationRepository.findByIdAndActiveTrue(id)
                 .orElseThrow(() -> {
                     log.error("Reservation con ID {} no encontrada", id);
+                    notFoundCache.markMissing("reservations", id);
                     return new ResourceNotFoundException("Reservation", id);
                 });
 
         log.debug("Reservation encontrada: ID={}", reservation.getId());
+        idMembershipFilters.reservations().add(id);
         return reservationMapper.toDto(reservation);
     }
 
@@ -154,6 +450,11 @@ public class ReservationServiceImpl
                     return new ResourceNotFoundException("Reservation", id);
                 });
 
+        // Owner/carer previos: sus búsquedas cacheadas también dejan de ser válidas
+        List<String> previousScopes = List.of(
+                CacheGenerations.ownerScope(existing.getOwner().getId()),
+                CacheGenerations.carerScope(existing.getCarer().getId()));
+
         // Validar que no esté finalizada
         if (existing.getState() == ReservationStateEnum.FINISHED) {
             log.error("No se puede actualizar una reservación FINISHED");
@@ -190,6 +491,7 @@ public class ReservationServiceImpl
         // Guardar
         Reservation updated = reservationRepository.save(existing);
         log.info("Reservation ID: {} actualizada exitosamente", id);
+        bumpSearchGenerations(updated.getOwner().getId(), updated.getCarer().getId(), previousScopes);
 
         return reservationMapper.toDto(updated);
     }
@@ -220,14 +522,19 @@ public class ReservationServiceImpl
         reservation.setUpdatedAt(LocalDateTime.now());
         // Guardar cambios
         reservationRepository.save(reservation);
+        bumpSearchGenerations(reservation.getOwner().getId(), reservation.getCarer().getId(), List.of());
+        notFoundCache.markMissing("reservations", id);
+        // Los servicios de la reservación eliminada dejan de ser consultables
+        cacheTagIndex.evictAfterCommit("reservation_services", List.of("byReservation_" + id),
+                List.of(CacheTagIndex.reservationTag(id)));
 
         log.info("Reservation ID: {} eliminada (borrado lógico) exitosamente", id);
     }
 
     /**
      * Busca reservaciones con filtros y paginación
+     * Las búsquedas idénticas concurrentes comparten una única consulta
      */
-    @Transactional(readOnly = true)
     public Page<ReservationResponseDTO> findByFilters(
             Long ownerId, Long carerId, ReservationStateEnum state,
             LocalDateTime startDate, LocalDateTime endDate,
@@ -236,12 +543,100 @@ public class ReservationServiceImpl
         log.info("Buscando Reservations con filtros - OwnerId: {}, CarerId: {}, State: {}",
                 ownerId, carerId, state);
 
-        Page<Reservation> page = reservationRepository.findByFilters(
-                ownerId, carerId, state, startDate, endDate, pageable);
+        String countKey = "reservations|o=" + ownerId + "|c=" + carerId + "|s=" + state
+                + "|from=" + startDate + "|to=" + endDate;
+        String searchKey = "o=" + ownerId + "|c=" + carerId + "|s=" + state
+                + "|from=" + startDate + "|to=" + endDate
+                + "|p=" + pageable.getPageNumber() + "|n=" + pageable.getPageSize() + "|sort=" + pageable.getSort();
+
+        // Ámbitos de invalidación: el owner y/o carer filtrado, o el global si no se filtra por ninguno
+        List<String> scopes = new ArrayList<>();
+        if (ownerId != null) {
+            scopes.add(CacheGenerations.ownerScope(ownerId));
+        }
+        if (carerId != null) {
+            scopes.add(CacheGenerations.carerScope(carerId));
+        }
+        if (scopes.isEmpty()) {
+            scopes.add(CacheGenerations.ALL);
+        }
+
+        return singleFlight.execute("reservations_search", searchKey, () ->
+                searchResultCache.getOrLoad(searchKey, scopes, pageable,
+                        "reservations", ReservationResponseDTO::getId, this::loadByIds, () -> {
+                            Slice<ReservationRow> slice = reservationRepository.findRowsByFilters(
+                                    ownerId, carerId, state, startDate, endDate, pageable);
+                            long total = countCache.getOrCount(countKey, scopes, () ->
+                                    reservationRepository.countByFilters(ownerId, carerId, state, startDate, endDate));
+
+                            log.info("Se encontraron {} Reservations con los filtros aplicados", total);
+
+                            return new PageImpl<>(slice.getContent(), pageable, total).map(reservationMapper::toDto);
+                        }));
+    }
+
+    /**
+     * Busca reservaciones con filtros como Slice (hasNext, sin total ni COUNT)
+     */
+    public Slice<ReservationResponseDTO> findByFiltersSlice(
+            Long ownerId, Long carerId, ReservationStateEnum state,
+            LocalDateTime startDate, LocalDateTime endDate,
+            Pageable pageable) {
+
+        log.info("Buscando Reservations sin total - OwnerId: {}, CarerId: {}, State: {}",
+                ownerId, carerId, state);
+
+        return reservationRepository.findRowsByFilters(ownerId, carerId, state, startDate, endDate, pageable)
+                .map(reservationMapper::toDto);
+    }
 
-        log.info("Se encontraron {} Reservations con los filtros aplicados", page.getTotalElements());
+    /**
+     * Búsqueda con los mismos filtros paginada por cursor (serviceDate DESC, id DESC).
+     * Pide una fila de más para saber si hay página siguiente sin contar el total.
+     */
+    public CursorPage<ReservationResponseDTO> findByFiltersCursor(
+            Long ownerId, Long carerId, ReservationStateEnum state,
+            LocalDateTime startDate, LocalDateTime endDate,
+            String cursor, int size) {
+
+        SeekCursor after = SeekCursor.decode(cursor);
+        log.info("Buscando Reservations por cursor - OwnerId: {}, CarerId: {}, State: {}, después de: {}",
+                ownerId, carerId, state, after);
+
+        List<ReservationRow> rows = reservationRepository.findRowsByFiltersAfter(
+                ownerId, carerId, state, startDate, endDate,
+                after != null ? after.serviceDate() : null, after != null ? after.id() : null,
+                PageRequest.of(0, size + 1));
+
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            ReservationRow last = rows.get(size - 1);
+            nextCursor = new SeekCursor(last.serviceDate(), last.id()).encode();
+        }
+        return new CursorPage<>(rows.stream().map(reservationMapper::toDto).toList(), rows.size(), nextCursor);
+    }
 
-        return page.map(reservationMapper::toDto);
+    /**
+     * Carga de la base de datos las reservaciones activas que faltan en cache al hidratar una búsqueda
+     */
+    private List<ReservationResponseDTO> loadByIds(List<Long> ids) {
+        log.debug("Hidratando {} Reservations desde la base de datos", ids.size());
+        return reservationRepository.findAllById(ids).stream()
+                .filter(reservation -> Boolean.TRUE.equals(reservation.getActive()))
+                .map(reservationMapper::toDto)
+                .toList();
+    }
+
+    /**
+     * Invalida (tras el commit) las búsquedas cacheadas que pueden contener la reservación
+     */
+    private void bumpSearchGenerations(Long ownerId, Long carerId, List<String> extraScopes) {
+        List<String> scopes = new ArrayList<>(extraScopes);
+        scopes.add(CacheGenerations.ALL);
+        scopes.add(CacheGenerations.ownerScope(ownerId));
+        scopes.add(CacheGenerations.carerScope(carerId));
+        cacheGenerations.bumpAfterCommit(scopes);
     }
 
     // ========== MÉTODOS DE VALIDACIÓN ==========
@@ -6,6 +6,7 @@ import org.example.cuidadodemascota.commons.dto.ReservationServiceResponseDTO;
 import org.example.cuidadodemascota.commons.dto.ReservationServiceResult;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 
@@ -15,6 +16,10 @@ public interface IReservationServiceService extends IBaseService<ReservationServ
 
     Page<ReservationServiceResponseDTO> findByFilters(Long reservationId, Long serviceId, Pageable pageable);
 
+    Slice<ReservationServiceResponseDTO> findAllSlice(Pageable pageable);
+
+    Slice<ReservationServiceResponseDTO> findByFiltersSlice(Long reservationId, Long serviceId, Pageable pageable);
+
     List<ReservationServiceResponseDTO> findByReservationId(Long reservationId);
 
     List<ReservationServiceResponseDTO> findByServiceId(Long serviceId);
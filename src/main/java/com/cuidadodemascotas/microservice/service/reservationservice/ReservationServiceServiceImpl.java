@@ -1,5 +1,13 @@
 package com.cuidadodemascotas.microservice.service.reservationservice;
 
+import com.cuidadodemascotas.microservice.cache.BulkCacheOperations;
+import com.cuidadodemascotas.microservice.cache.CacheGenerations;
+import com.cuidadodemascotas.microservice.cache.CacheTagIndex;
+import com.cuidadodemascotas.microservice.cache.CountCache;
+import com.cuidadodemascotas.microservice.cache.IdMembershipFilters;
+import com.cuidadodemascotas.microservice.cache.NotFoundCache;
+import com.cuidadodemascotas.microservice.cache.RefreshAheadLoaders;
+import com.cuidadodemascotas.microservice.cache.SingleFlight;
 import com.cuidadodemascotas.microservice.exception.BusinessValidationException;
 import com.cuidadodemascotas.microservice.exception.ResourceConflictException;
 import com.cuidadodemascotas.microservice.exception.ResourceNotFoundException;
@@ -7,7 +15,9 @@ import com.cuidadodemascotas.microservice.mapper.ReservationServiceMapper;
 import com.cuidadodemascotas.microservice.repository.IReservationRepository;
 import com.cuidadodemascotas.microservice.repository.IReservationServiceRepository;
 import com.cuidadodemascotas.microservice.repository.IServiceRepository;
+import com.cuidadodemascotas.microservice.repository.projection.ReservationServiceRow;
 import com.cuidadodemascotas.microservice.service.base.BaseServiceImpl;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.cuidadodemascota.commons.dto.ReservationServiceRequestDTO;
@@ -16,17 +26,21 @@ import org.example.cuidadodemascota.commons.dto.ReservationServiceResult;
 import org.example.cuidadodemascota.commons.entities.reservation.Reservation;
 import org.example.cuidadodemascota.commons.entities.reservation.ReservationService;
 import org.example.cuidadodemascota.commons.entities.service.Service;
-import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
 
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -44,7 +58,24 @@ public class ReservationServiceServiceImpl
     private final IReservationServiceRepository reservationServiceRepository;
     private final IServiceRepository serviceRepository;
     private final ReservationServiceMapper reservationServiceMapper;
-    private final CacheManager cacheManager;
+    private final BulkCacheOperations bulkCacheOperations;
+    private final SingleFlight singleFlight;
+    private final CacheTagIndex cacheTagIndex;
+    private final RefreshAheadLoaders refreshAheadLoaders;
+    private final IdMembershipFilters idMembershipFilters;
+    private final NotFoundCache notFoundCache;
+    private final CountCache countCache;
+    private final CacheGenerations cacheGenerations;
+
+    /**
+     * Loaders para refrescar en segundo plano las entradas leídas cerca de su expiración.
+     * Solo byId_: su escritura es versionada. Las listas byReservation_ no llevan versión y un
+     * refresco que leyó antes de un save podría pisar el desalojo tras el commit.
+     */
+    @PostConstruct
+    void registerRefreshLoaders() {
+        refreshAheadLoaders.register("reservation_services", "byId_", id -> loadById(Long.valueOf(id)));
+    }
 
     protected ReservationServiceResponseDTO convertEntityToDto(ReservationService entity) {
         return reservationServiceMapper.toDto(entity);
@@ -56,29 +87,53 @@ public class ReservationServiceServiceImpl
 
     /**
      * Obtiene todos los ReservationServices activos con paginación
+     * La página se consulta sin COUNT; el total sale de la cache de totales
      */
     @Transactional(readOnly = true)
     public Page<ReservationServiceResponseDTO> findAll(Pageable pageable) {
         log.info("Obteniendo todos los ReservationServices - Página: {}, Tamaño: {}",
                 pageable.getPageNumber(), pageable.getPageSize());
 
-        Page<ReservationService> page = reservationServiceRepository.findByActiveTrue(pageable);
+        // Proyección de solo las columnas del DTO: sin entidades gestionadas
+        Slice<ReservationServiceRow> slice = reservationServiceRepository.findActiveRows(pageable);
+        long total = countCache.getOrCount("reservation_services|all", List.of(CacheGenerations.RESERVATION_SERVICES),
+                reservationServiceRepository::countByActiveTrue);
+        Page<ReservationServiceRow> page = new PageImpl<>(slice.getContent(), pageable, total);
         log.info("Se encontraron {} ReservationServices en la página {}",
                 page.getNumberOfElements(), page.getNumber());
 
         Page<ReservationServiceResponseDTO> dtos = page.map(reservationServiceMapper::toDto);
-        // Cache individual de reservas
-        dtos.forEach(rs -> {
-            cacheManager.getCache("reservation_services")
-                    .put("byId_" + rs.getId(), rs);
-            log.info("Detalle con ID: {} cacheada individualmente.", rs.getId());
-        });
-        log.info("Todas los detalles cargadas en memoria y cacheadas individualmente.");
+        cacheDetails(dtos.getContent());
+        return dtos;
+    }
 
+    /**
+     * Obtiene los ReservationServices activos como Slice (hasNext, sin total ni COUNT)
+     */
+    @Transactional(readOnly = true)
+    public Slice<ReservationServiceResponseDTO> findAllSlice(Pageable pageable) {
+        log.info("Obteniendo ReservationServices sin total - Página: {}, Tamaño: {}",
+                pageable.getPageNumber(), pageable.getPageSize());
 
+        Slice<ReservationServiceResponseDTO> dtos = reservationServiceRepository.findActiveRows(pageable)
+                .map(reservationServiceMapper::toDto);
+        cacheDetails(dtos.getContent());
         return dtos;
     }
 
+    /**
+     * Cache individual de detalles: toda la página en un solo pipeline, fuera del hilo de la petición
+     */
+    private void cacheDetails(List<ReservationServiceResponseDTO> dtos) {
+        Map<String, ReservationServiceResponseDTO> entries = new LinkedHashMap<>();
+        dtos.forEach(rs -> entries.put("byId_" + rs.getId(), rs));
+        Map<String, List<String>> tags = new LinkedHashMap<>();
+        dtos.forEach(rs -> tags.put("byId_" + rs.getId(), tagsOf(rs)));
+        cacheTagIndex.tagAll("reservation_services", tags);
+        bulkCacheOperations.putAllAsync("reservation_services", entries);
+        log.info("{} detalles enviados a cache en bloque.", entries.size());
+    }
+
     /**
      * Crea una nueva relación Reservation-Service
      * Válida que no exista duplicidad
@@ -130,26 +185,51 @@ public class ReservationServiceServiceImpl
         // Guardar
         ReservationService saved = reservationServiceRepository.save(reservationService);
         log.info("ReservationService creado exitosamente con ID: {}", saved.getId());
+        idMembershipFilters.reservationServices().add(saved.getId());
+        notFoundCache.forget("reservation_services", saved.getId());
+        cacheGenerations.bumpAfterCommit(List.of(CacheGenerations.RESERVATION_SERVICES));
 
         return reservationServiceMapper.toDto(saved);
     }
 
     /**
      * Obtiene un ReservationService por ID
+     * Sin @Transactional: las peticiones coalescidas esperan sin retener una conexión del pool
      */
-    @Transactional(readOnly = true)
     @Cacheable(value = "reservation_services", key = "'byId_' + #id")
     public ReservationServiceResponseDTO getById(Long id) {
         log.info("Buscando ReservationService por ID: {}", id);
 
+        // IDs fuera del filtro y recordados como inexistentes: se rechazan sin consultar la base de datos
+        if (!idMembershipFilters.reservationServices().probablyContains(id)
+                && notFoundCache.isKnownMissing("reservation_services", id)) {
+            log.debug("ReservationService con ID {} descartado sin consultar la base de datos", id);
+            throw new ResourceNotFoundException("ReservationService", id);
+        }
+
+        return singleFlight.execute("reservation_services", "byId_" + id, () -> loadById(id));
+    }
+
+    private ReservationServiceResponseDTO loadById(Long id) {
         ReservationService reservationService = reservationServiceRepository.findByIdAndActiveTrue(id)
                 .orElseThrow(() -> {
                     log.error("ReservationService con ID {} no encontrado", id);
+                    notFoundCache.markMissing("reservation_services", id);
                     return new ResourceNotFoundException("ReservationService", id);
                 });
 
         log.debug("ReservationService encontrado: ID={}", reservationService.getId());
-        return reservationServiceMapper.toDto(reservationService);
+        idMembershipFilters.reservationServices().add(id);
+        ReservationServiceResponseDTO dto = reservationServiceMapper.toDto(reservationService);
+        cacheTagIndex.tag("reservation_services", "byId_" + id, tagsOf(dto));
+        return dto;
+    }
+
+    /**
+     * Etiquetas de un detalle: la reservación de la que depende
+     */
+    private static List<String> tagsOf(ReservationServiceResponseDTO dto) {
+        return List.of(CacheTagIndex.reservationTag(dto.getReservationId()));
     }
 
     /**
@@ -161,15 +241,22 @@ public class ReservationServiceServiceImpl
         log.info("Obteniendo servicios de la Reservation ID: {}", reservationId);
 
         // Verificar que la reservación exista
+        if (!idMembershipFilters.reservations().probablyContains(reservationId)
+                && notFoundCache.isKnownMissing("reservations", reservationId)) {
+            throw new ResourceNotFoundException("Reservation", reservationId);
+        }
         reservationRepository.findByIdAndActiveTrue(reservationId)
                 .orElseThrow(() -> new ResourceNotFoundException("Reservation", reservationId));
 
-        List<ReservationService> services = reservationServiceRepository
-                .findByReservationIdAndActiveTrue(reservationId);
+        List<ReservationServiceRow> services = reservationServiceRepository
+                .findRowsByReservationId(reservationId);
 
         log.info("Se encontraron {} servicios para la Reservation ID: {}",
                 services.size(), reservationId);
 
+        cacheTagIndex.tag("reservation_services", "byReservation_" + reservationId,
+                List.of(CacheTagIndex.reservationTag(reservationId)));
+
         return services.stream()
                 .map(reservationServiceMapper::toDto)
                 .collect(Collectors.toList());
@@ -177,22 +264,17 @@ public class ReservationServiceServiceImpl
 
     /**
      * Actualiza una relación Reservation-Service existente
+     * Solo se invalidan las listas de la reservación anterior y de la nueva
      */
     @Transactional
-    @Caching(
-            put = {
-                    @CachePut(value = "reservation_services", key = "'byId_' + #id")
-            },
-            evict = {
-                    @CacheEvict(value = "reservation_services", allEntries = true)
-            }
-    )
+    @CachePut(value = "reservation_services", key = "'byId_' + #id")
     public ReservationServiceResponseDTO update(Long id, ReservationServiceRequestDTO requestDTO) {
         log.info("Actualizando ReservationService con ID: {}", id);
 
         // Buscar la entidad existente
         ReservationService entity = reservationServiceRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("ReservationService no encontrado con ID: " + id));
+        Long previousReservationId = entity.getReservation().getId();
 
         // Actualizar la relación con Reservation (si viene en el DTO)
         if (requestDTO.getReservationId() != null) {
@@ -216,7 +298,17 @@ public class ReservationServiceServiceImpl
         ReservationService updated = reservationServiceRepository.save(entity);
 
         log.info("ReservationService actualizado exitosamente con ID: {}", updated.getId());
-        return reservationServiceMapper.toDto(updated);
+
+        ReservationServiceResponseDTO dto = reservationServiceMapper.toDto(updated);
+        cacheTagIndex.tag("reservation_services", "byId_" + id, tagsOf(dto));
+        // Si la relación no cambió de reservación, ambas claves coinciden
+        Set<String> listKeys = new LinkedHashSet<>();
+        listKeys.add("byReservation_" + previousReservationId);
+        listKeys.add("byReservation_" + dto.getReservationId());
+        cacheTagIndex.evictAfterCommit("reservation_services", listKeys, List.of());
+        // Los totales por filtro dependen de la reservación y el servicio de la relación
+        cacheGenerations.bumpAfterCommit(List.of(CacheGenerations.RESERVATION_SERVICES));
+        return dto;
     }
 
     /**
@@ -238,6 +330,11 @@ public class ReservationServiceServiceImpl
         // Actualizar la fecha de actualización
         reservationService.setUpdatedAt(LocalDateTime.now());
         reservationServiceRepository.save(reservationService);
+        cacheTagIndex.evictAfterCommit("reservation_services",
+                List.of("byReservation_" + reservationService.getReservation().getId()), List.of());
+        cacheGenerations.bumpAfterCommit(List.of(CacheGenerations.RESERVATION_SERVICES));
+
+        notFoundCache.markMissing("reservation_services", id);
 
         log.info("ReservationService ID: {} eliminado (borrado lógico) exitosamente", id);
     }
@@ -253,8 +350,8 @@ public class ReservationServiceServiceImpl
         serviceRepository.findByIdAndActiveTrue(serviceId)
                 .orElseThrow(() -> new ResourceNotFoundException("Service", serviceId));
 
-        List<ReservationService> reservations = reservationServiceRepository
-                .findByServiceIdAndActiveTrue(serviceId);
+        List<ReservationServiceRow> reservations = reservationServiceRepository
+                .findRowsByServiceId(serviceId);
 
         log.info("Se encontraron {} reservaciones para el Service ID: {}",
                 reservations.size(), serviceId);
@@ -265,42 +362,67 @@ public class ReservationServiceServiceImpl
     }
 
     /**
-     * Elimina todos los servicios de una reservación
+     * Elimina todos los servicios de una reservación con un único UPDATE
+     * Se invalidan las entradas de las filas afectadas (con la lápida de un delete, y quedan en la
+     * cache negativa) y, por si quedara alguna, la etiqueta de la reservación
      */
     @Transactional
     @CacheEvict(value = "reservation_services", key = "'byReservation_' + #reservationId")
     public void deleteAllByReservationId(Long reservationId) {
         log.info("Eliminando todos los servicios de la Reservation ID: {}", reservationId);
 
-        List<ReservationService> services = reservationServiceRepository
-                .findByReservationIdAndActiveTrue(reservationId);
+        List<ReservationServiceRow> deactivated = reservationServiceRepository
+                .deactivateByReservationIds(List.of(reservationId), LocalDateTime.now());
 
-        services.forEach(rs -> {
-            rs.setActive(false);
-            rs.setUpdatedAt(LocalDateTime.now());
-            reservationServiceRepository.save(rs);
-        });
+        cacheTagIndex.evictDeletedAfterCommit("reservation_services",
+                deactivated.stream().map(rs -> "byId_" + rs.id()).toList(),
+                List.of(CacheTagIndex.reservationTag(reservationId)));
+        if (!deactivated.isEmpty()) {
+            notFoundCache.markAllMissing("reservation_services",
+                    deactivated.stream().map(ReservationServiceRow::id).toList());
+            cacheGenerations.bumpAfterCommit(List.of(CacheGenerations.RESERVATION_SERVICES));
+        }
 
-        log.info("{} servicios eliminados de la Reservation ID: {}", services.size(), reservationId);
+        log.info("{} servicios eliminados de la Reservation ID: {}", deactivated.size(), reservationId);
     }
 
     /**
      * Busca ReservationServices con filtros y paginación
+     * Las búsquedas idénticas concurrentes comparten una única consulta
      */
-    @Transactional(readOnly = true)
     public Page<ReservationServiceResponseDTO> findByFilters(
             Long reservationId, Long serviceId, Pageable pageable) {
 
         log.info("Buscando ReservationServices con filtros - ReservationId: {}, ServiceId: {}",
                 reservationId, serviceId);
 
-        Page<ReservationService> page = reservationServiceRepository.findByFilters(
-                reservationId, serviceId, pageable);
+        String searchKey = "r=" + reservationId + "|s=" + serviceId
+                + "|p=" + pageable.getPageNumber() + "|n=" + pageable.getPageSize() + "|sort=" + pageable.getSort();
 
-        log.info("Se encontraron {} ReservationServices con los filtros aplicados",
-                page.getTotalElements());
+        return singleFlight.execute("reservation_services_search", searchKey, () -> {
+            Slice<ReservationServiceRow> slice = reservationServiceRepository.findRowsByFilters(
+                    reservationId, serviceId, pageable);
+            long total = countCache.getOrCount("reservation_services|r=" + reservationId + "|s=" + serviceId,
+                    List.of(CacheGenerations.RESERVATION_SERVICES),
+                    () -> reservationServiceRepository.countByFilters(reservationId, serviceId));
+
+            log.info("Se encontraron {} ReservationServices con los filtros aplicados", total);
+
+            return new PageImpl<>(slice.getContent(), pageable, total).map(reservationServiceMapper::toDto);
+        });
+    }
+
+    /**
+     * Busca ReservationServices con filtros como Slice (hasNext, sin total ni COUNT)
+     */
+    public Slice<ReservationServiceResponseDTO> findByFiltersSlice(
+            Long reservationId, Long serviceId, Pageable pageable) {
+
+        log.info("Buscando ReservationServices sin total - ReservationId: {}, ServiceId: {}",
+                reservationId, serviceId);
 
-        return page.map(reservationServiceMapper::toDto);
+        return reservationServiceRepository.findRowsByFilters(reservationId, serviceId, pageable)
+                .map(reservationServiceMapper::toDto);
     }
 
     // ========== MÉTODOS DE VALIDACIÓN ==========
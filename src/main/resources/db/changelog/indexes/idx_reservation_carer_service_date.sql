@@ -0,0 +1,6 @@
+-- Búsquedas por carer ordenadas por fecha y comprobación de solapamiento
+-- (existsActiveReservationForCarerInDateRange)
+DROP INDEX CONCURRENTLY IF EXISTS idx_reservation_carer_service_date;
+CREATE INDEX CONCURRENTLY idx_reservation_carer_service_date
+    ON reservation (carer_id, service_date)
+    WHERE active = true;
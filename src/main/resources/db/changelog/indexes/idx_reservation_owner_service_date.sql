@@ -0,0 +1,5 @@
+-- Búsquedas por owner ordenadas por fecha (listado, página por keyset y COUNT)
+DROP INDEX CONCURRENTLY IF EXISTS idx_reservation_owner_service_date;
+CREATE INDEX CONCURRENTLY idx_reservation_owner_service_date
+    ON reservation (owner_id, service_date)
+    WHERE active = true;
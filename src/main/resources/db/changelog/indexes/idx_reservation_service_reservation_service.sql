@@ -0,0 +1,6 @@
+-- Servicios de una reservación y comprobación de relación duplicada
+-- (existsByReservationIdAndServiceIdAndActiveTrue)
+DROP INDEX CONCURRENTLY IF EXISTS idx_reservation_service_reservation_service;
+CREATE INDEX CONCURRENTLY idx_reservation_service_reservation_service
+    ON reservation_service (reservation_id, service_id)
+    WHERE active = true;
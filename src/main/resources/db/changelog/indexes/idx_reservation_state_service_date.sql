@@ -0,0 +1,5 @@
+-- Búsquedas por estado ordenadas por fecha
+DROP INDEX CONCURRENTLY IF EXISTS idx_reservation_state_service_date;
+CREATE INDEX CONCURRENTLY idx_reservation_state_service_date
+    ON reservation (state, service_date)
+    WHERE active = true;
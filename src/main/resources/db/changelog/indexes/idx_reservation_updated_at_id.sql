@@ -0,0 +1,4 @@
+-- Recorrido por keyset (updated_at, id) de la reconciliación de cache; incluye filas inactivas
+DROP INDEX CONCURRENTLY IF EXISTS idx_reservation_updated_at_id;
+CREATE INDEX CONCURRENTLY idx_reservation_updated_at_id
+    ON reservation (updated_at, id);
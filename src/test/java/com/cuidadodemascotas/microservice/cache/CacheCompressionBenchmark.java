@@ -0,0 +1,110 @@
+package com.cuidadodemascotas.microservice.cache;
+
+import com.cuidadodemascotas.microservice.cache.serializer.CompactCacheSerializer;
+import com.cuidadodemascotas.microservice.cache.serializer.CompressingRedisSerializer;
+import com.cuidadodemascotas.microservice.cache.serializer.ReservationServiceResponseCodec;
+import com.cuidadodemascotas.microservice.config.RedisCacheConfig;
+import org.example.cuidadodemascota.commons.dto.ReservationServiceResponseDTO;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Benchmark manual: coste de CPU por byte ahorrado al comprimir listas byReservation_.
+ * Compara cada formato (JSON y compacto) con y sin compresión para listas de distinto tamaño.
+ * No forma parte de la suite (no es un test); ejecutar el main desde el IDE o con
+ * java -cp target/classes:target/test-classes:<classpath de test> ...CacheCompressionBenchmark
+ */
+public class CacheCompressionBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 50_000;
+    private static final int MEASURED_ITERATIONS = 100_000;
+
+    public static void main(String[] args) {
+        RedisSerializer<Object> json = RedisCacheConfig.jsonSerializer();
+        RedisSerializer<Object> compact = new CompactCacheSerializer(json, new ReservationServiceResponseCodec());
+
+        for (int size : new int[]{5, 20, 100}) {
+            List<ReservationServiceResponseDTO> services = new ArrayList<>();
+            for (long i = 1; i <= size; i++) {
+                services.add(reservationService(i));
+            }
+            run("json, lista de " + size, services, json);
+            run("compacto, lista de " + size, services, compact);
+        }
+    }
+
+    private static void run(String label, Object value, RedisSerializer<Object> plain) {
+        // Umbral 0: se mide la compresión aunque el valor sea pequeño
+        RedisSerializer<Object> compressed = new CompressingRedisSerializer(plain, 0);
+        byte[] plainBytes = plain.serialize(value);
+        byte[] compressedBytes = compressed.serialize(value);
+
+        double plainEncode = encodeNanos(plain, value);
+        double compressedEncode = encodeNanos(compressed, value);
+        double plainDecode = decodeNanos(plain, plainBytes);
+        double compressedDecode = decodeNanos(compressed, compressedBytes);
+        long saved = plainBytes.length - compressedBytes.length;
+
+        System.out.printf("%n=== %s ===%n", label);
+        System.out.printf("payload bytes: sin comprimir=%d comprimido=%d (%.1f%%)%n",
+                plainBytes.length, compressedBytes.length, 100.0 * compressedBytes.length / plainBytes.length);
+        System.out.printf("encode ns/op:  sin comprimir=%.0f comprimido=%.0f%n", plainEncode, compressedEncode);
+        System.out.printf("decode ns/op:  sin comprimir=%.0f comprimido=%.0f%n", plainDecode, compressedDecode);
+        if (saved > 0) {
+            System.out.printf("CPU extra por byte ahorrado: %.2f ns (encode + decode)%n",
+                    (compressedEncode - plainEncode + compressedDecode - plainDecode) / saved);
+        } else {
+            System.out.println("La compresión no ahorra bytes: el valor se guardaría sin comprimir");
+        }
+    }
+
+    private static double encodeNanos(RedisSerializer<Object> serializer, Object value) {
+        long sink = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            sink += serializer.serialize(value).length;
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            sink += serializer.serialize(value).length;
+        }
+        long elapsed = System.nanoTime() - start;
+        blackhole(sink);
+        return (double) elapsed / MEASURED_ITERATIONS;
+    }
+
+    private static double decodeNanos(RedisSerializer<Object> serializer, byte[] bytes) {
+        long sink = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            sink += serializer.deserialize(bytes).hashCode();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            sink += serializer.deserialize(bytes).hashCode();
+        }
+        long elapsed = System.nanoTime() - start;
+        blackhole(sink);
+        return (double) elapsed / MEASURED_ITERATIONS;
+    }
+
+    private static void blackhole(long sink) {
+        if (sink == 42) {
+            System.out.println();
+        }
+    }
+
+    private static ReservationServiceResponseDTO reservationService(Long id) {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.of("-03:00"));
+        ReservationServiceResponseDTO dto = new ReservationServiceResponseDTO();
+        dto.setId(40_000L + id);
+        dto.setReservationId(125_431L);
+        dto.setServiceId(300L + id);
+        dto.setCreatedAt(now);
+        dto.setUpdatedAt(now);
+        dto.setActive(true);
+        return dto;
+    }
+}
@@ -0,0 +1,116 @@
+package com.cuidadodemascotas.microservice.cache;
+
+import com.cuidadodemascotas.microservice.cache.serializer.CompactCacheSerializer;
+import com.cuidadodemascotas.microservice.cache.serializer.ReservationResponseCodec;
+import com.cuidadodemascotas.microservice.cache.serializer.ReservationServiceResponseCodec;
+import com.cuidadodemascotas.microservice.config.RedisCacheConfig;
+import org.example.cuidadodemascota.commons.dto.ReservationResponseDTO;
+import org.example.cuidadodemascota.commons.dto.ReservationServiceResponseDTO;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Benchmark manual: serializador JSON con default typing vs serializador binario tipado.
+ * Reporta bytes por valor y ns/op de encode/decode para los tres tipos de valor cacheados.
+ * No forma parte de la suite (no es un test); ejecutar el main desde el IDE o con
+ * java -cp target/classes:target/test-classes:<classpath de test> ...CacheSerializerBenchmark
+ */
+public class CacheSerializerBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 200_000;
+    private static final int MEASURED_ITERATIONS = 500_000;
+
+    public static void main(String[] args) {
+        RedisSerializer<Object> json = RedisCacheConfig.jsonSerializer();
+        RedisSerializer<Object> reservationsCompact =
+                new CompactCacheSerializer(json, new ReservationResponseCodec());
+        RedisSerializer<Object> servicesCompact =
+                new CompactCacheSerializer(json, new ReservationServiceResponseCodec());
+
+        List<ReservationServiceResponseDTO> services = new ArrayList<>();
+        for (long i = 1; i <= 5; i++) {
+            services.add(reservationService(i));
+        }
+
+        run("ReservationResponseDTO", reservation(), json, reservationsCompact);
+        run("ReservationServiceResponseDTO", reservationService(1L), json, servicesCompact);
+        run("List<ReservationServiceResponseDTO> (5)", services, json, servicesCompact);
+    }
+
+    private static void run(String label, Object value, RedisSerializer<Object> json, RedisSerializer<Object> compact) {
+        byte[] jsonBytes = json.serialize(value);
+        byte[] compactBytes = compact.serialize(value);
+
+        System.out.printf("%n=== %s ===%n", label);
+        System.out.printf("payload bytes: json=%d compact=%d (%.1f%%)%n",
+                jsonBytes.length, compactBytes.length, 100.0 * compactBytes.length / jsonBytes.length);
+        System.out.printf("encode ns/op:  json=%.0f compact=%.0f%n",
+                encodeNanos(json, value), encodeNanos(compact, value));
+        System.out.printf("decode ns/op:  json=%.0f compact=%.0f%n",
+                decodeNanos(json, jsonBytes), decodeNanos(compact, compactBytes));
+    }
+
+    private static double encodeNanos(RedisSerializer<Object> serializer, Object value) {
+        long sink = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            sink += serializer.serialize(value).length;
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            sink += serializer.serialize(value).length;
+        }
+        long elapsed = System.nanoTime() - start;
+        blackhole(sink);
+        return (double) elapsed / MEASURED_ITERATIONS;
+    }
+
+    private static double decodeNanos(RedisSerializer<Object> serializer, byte[] bytes) {
+        long sink = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            sink += serializer.deserialize(bytes).hashCode();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            sink += serializer.deserialize(bytes).hashCode();
+        }
+        long elapsed = System.nanoTime() - start;
+        blackhole(sink);
+        return (double) elapsed / MEASURED_ITERATIONS;
+    }
+
+    private static void blackhole(long sink) {
+        if (sink == 42) {
+            System.out.println();
+        }
+    }
+
+    private static ReservationResponseDTO reservation() {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.of("-03:00"));
+        ReservationResponseDTO dto = new ReservationResponseDTO();
+        dto.setId(125_431L);
+        dto.setOwnerId(8_812L);
+        dto.setCarerId(1_204L);
+        dto.setServiceDate(now.plusDays(3));
+        dto.setReservationState(ReservationResponseDTO.ReservationStateEnum.PENDING);
+        dto.setCreatedAt(now);
+        dto.setUpdatedAt(now);
+        dto.setActive(true);
+        return dto;
+    }
+
+    private static ReservationServiceResponseDTO reservationService(Long id) {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.of("-03:00"));
+        ReservationServiceResponseDTO dto = new ReservationServiceResponseDTO();
+        dto.setId(40_000L + id);
+        dto.setReservationId(125_431L);
+        dto.setServiceId(300L + id);
+        dto.setCreatedAt(now);
+        dto.setUpdatedAt(now);
+        dto.setActive(true);
+        return dto;
+    }
+}
@@ -0,0 +1,56 @@
+package com.cuidadodemascotas.microservice.cache;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Benchmark manual del coste de {@link HotKeyTracker#record} en el camino de lectura, con un
+ * tráfico sesgado (unas pocas claves muy calientes sobre una cola larga). Reporta ns por
+ * registro, bytes asignados y las claves detectadas. No forma parte de la suite; ejecutar el
+ * main desde el IDE o con
+ * java -cp target/classes:target/test-classes:<classpath de test> ...HotKeyTrackerBenchmark
+ */
+public class HotKeyTrackerBenchmark {
+
+    private static final int DISTINCT_KEYS = 100_000;
+    private static final int ITERATIONS = 5_000_000;
+
+    public static void main(String[] args) {
+        HotKeyTracker tracker = new HotKeyTracker(true, 16384, 50, 1000);
+
+        // Claves ya creadas, como las que llegan desde @Cacheable: el benchmark no mide su construcción
+        String[] keys = new String[DISTINCT_KEYS];
+        for (int i = 0; i < DISTINCT_KEYS; i++) {
+            keys[i] = "byId_" + i;
+        }
+        int[] trace = new int[ITERATIONS];
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < ITERATIONS; i++) {
+            // 20 % de las lecturas a 5 claves calientes, el resto uniforme
+            trace[i] = random.nextInt(5) == 0 ? random.nextInt(5) : random.nextInt(DISTINCT_KEYS);
+        }
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            tracker.record("reservations", keys[trace[i]]);
+        }
+        tracker.decay();
+        tracker.decay();
+        tracker.decay();
+
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            tracker.record("reservations", keys[trace[i]]);
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        System.out.printf("ns/registro: %.1f%n", (double) elapsed / ITERATIONS);
+        System.out.printf("bytes asignados/registro: %.2f%n", (double) allocated / ITERATIONS);
+        System.out.println("top-5 detectado: " + Arrays.toString(tracker.top().stream().limit(5).toArray()));
+    }
+}
@@ -0,0 +1,72 @@
+package com.cuidadodemascotas.microservice.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Detección de claves calientes: las más leídas llegan al top-K por orden, las frías no entran
+ * y el envejecimiento reduce sus frecuencias.
+ */
+class HotKeyTrackerTest {
+
+    @Test
+    void topContainsHottestKeysInOrder() {
+        HotKeyTracker tracker = new HotKeyTracker(true, 16384, 2, 1000);
+        for (int i = 0; i < 1_000; i++) {
+            tracker.record("reservations", "byId_" + (10_000 + i));
+            if (i % 2 == 0) {
+                tracker.record("reservations", "byId_2");
+            }
+            tracker.record("reservations", "byId_1");
+            if (i % 4 == 0) {
+                tracker.record("reservation_services", "byId_3");
+            }
+        }
+
+        List<Map.Entry<HotKeyTracker.HotKey, Integer>> top = tracker.top();
+        assertEquals(2, top.size());
+        assertEquals(new HotKeyTracker.HotKey("reservations", "byId_1"), top.get(0).getKey());
+        assertEquals(new HotKeyTracker.HotKey("reservations", "byId_2"), top.get(1).getKey());
+        assertTrue(top.get(0).getValue() >= 1_000 - 8, "estimado: " + top.get(0).getValue());
+    }
+
+    @Test
+    void decayHalvesFrequencies() {
+        HotKeyTracker tracker = new HotKeyTracker(true, 16384, 10, 1000);
+        for (int i = 0; i < 800; i++) {
+            tracker.record("reservations", "byId_1");
+        }
+        int before = tracker.top().get(0).getValue();
+
+        tracker.decay();
+
+        assertEquals(before >>> 1, tracker.top().get(0).getValue());
+        assertEquals(401, tracker.record("reservations", "byId_1"));
+    }
+
+    @Test
+    void coldKeysAreNotCandidates() {
+        HotKeyTracker tracker = new HotKeyTracker(true, 16384, 10, 1000);
+        for (int i = 0; i < 1_000; i++) {
+            tracker.record("reservations", "byId_" + i);
+        }
+        assertTrue(tracker.top().isEmpty());
+    }
+
+    @Test
+    void pinThresholdAndDisabledTracker() {
+        HotKeyTracker tracker = new HotKeyTracker(true, 16384, 10, 1000);
+        assertFalse(tracker.isPinCandidate(999));
+        assertTrue(tracker.isPinCandidate(1000));
+
+        HotKeyTracker disabled = new HotKeyTracker(false, 16384, 10, 1000);
+        assertEquals(0, disabled.record("reservations", "byId_1"));
+        assertTrue(disabled.top().isEmpty());
+    }
+}
@@ -0,0 +1,134 @@
+package com.cuidadodemascotas.microservice.cache;
+
+import com.cuidadodemascotas.microservice.cache.serializer.CompactCacheSerializer;
+import com.cuidadodemascotas.microservice.cache.serializer.CompressingRedisSerializer;
+import com.cuidadodemascotas.microservice.cache.serializer.ReservationResponseCodec;
+import com.cuidadodemascotas.microservice.config.RedisCacheConfig;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.example.cuidadodemascota.commons.dto.ReservationResponseDTO;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * Benchmark manual del camino de acierto de GET /reservations/{id}:
+ * objeto (bytes de Redis → DTO → Jackson → salida) frente a bytes precalculados (bytes de Redis
+ * → salida). Reporta bytes asignados por petición y latencia p50/p99 del trabajo en la JVM
+ * (sin red ni Redis). No forma parte de la suite; ejecutar el main desde el IDE o con
+ * java -cp target/classes:target/test-classes:<classpath de test> ...ResponseBodyCacheBenchmark
+ */
+public class ResponseBodyCacheBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 200_000;
+    private static final int MEASURED_ITERATIONS = 500_000;
+
+    public static void main(String[] args) throws IOException {
+        // Misma configuración que el ObjectMapper de Spring MVC en application.properties
+        ObjectMapper mvcMapper = Jackson2ObjectMapperBuilder.json()
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .timeZone("UTC")
+                .build();
+        RedisSerializer<Object> cacheSerializer = new CompressingRedisSerializer(
+                new CompactCacheSerializer(RedisCacheConfig.jsonSerializer(), new ReservationResponseCodec()), 1024);
+
+        ReservationResponseDTO dto = reservation();
+        byte[] cachedValue = cacheSerializer.serialize(dto);
+        byte[] cachedBody = mvcMapper.writeValueAsBytes(dto);
+        System.out.printf("valor cacheado=%d bytes, cuerpo JSON cacheado=%d bytes%n", cachedValue.length, cachedBody.length);
+
+        DiscardingOutputStream out = new DiscardingOutputStream();
+        Path objectPath = () -> {
+            // Lettuce entrega un byte[] nuevo por lectura
+            byte[] raw = Arrays.copyOf(cachedValue, cachedValue.length);
+            mvcMapper.writeValue(out, cacheSerializer.deserialize(raw));
+        };
+        Path bytesPath = () -> {
+            byte[] raw = Arrays.copyOf(cachedBody, cachedBody.length);
+            out.write(raw);
+        };
+
+        run("objeto (deserializar + Jackson)", objectPath, out);
+        run("bytes precalculados", bytesPath, out);
+    }
+
+    private static void run(String label, Path path, DiscardingOutputStream out) throws IOException {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            path.serve();
+        }
+
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        long[] latencies = new long[MEASURED_ITERATIONS];
+
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            long start = System.nanoTime();
+            path.serve();
+            latencies[i] = System.nanoTime() - start;
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        // El array de latencias se reservó antes de medir
+
+        Arrays.sort(latencies);
+        System.out.printf("%n=== %s ===%n", label);
+        System.out.printf("bytes asignados/petición: %.0f%n", (double) allocated / MEASURED_ITERATIONS);
+        System.out.printf("latencia ns: p50=%d p99=%d p99.9=%d%n",
+                latencies[MEASURED_ITERATIONS / 2],
+                latencies[(int) (MEASURED_ITERATIONS * 0.99)],
+                latencies[(int) (MEASURED_ITERATIONS * 0.999)]);
+        System.out.printf("bytes escritos: %d%n", out.reset());
+    }
+
+    @FunctionalInterface
+    private interface Path {
+        void serve() throws IOException;
+    }
+
+    /**
+     * Simula el flujo de salida del servlet sin retener los bytes
+     */
+    private static final class DiscardingOutputStream extends OutputStream {
+
+        private long written;
+
+        @Override
+        public void write(int b) {
+            written++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            written += len;
+        }
+
+        long reset() {
+            long total = written;
+            written = 0;
+            return total;
+        }
+    }
+
+    private static ReservationResponseDTO reservation() {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.of("-03:00"));
+        ReservationResponseDTO dto = new ReservationResponseDTO();
+        dto.setId(125_431L);
+        dto.setOwnerId(8_812L);
+        dto.setCarerId(1_204L);
+        dto.setServiceDate(now.plusDays(3));
+        dto.setReservationState(ReservationResponseDTO.ReservationStateEnum.PENDING);
+        dto.setCreatedAt(now);
+        dto.setUpdatedAt(now);
+        dto.setActive(true);
+        return dto;
+    }
+}
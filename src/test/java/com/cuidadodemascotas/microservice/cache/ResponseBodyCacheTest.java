@@ -0,0 +1,166 @@
+package com.cuidadodemascotas.microservice.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.cuidadodemascota.commons.dto.ReservationResponseDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Camino de lectura de las respuestas precalculadas: acierto con y sin gzip, fallo con carga
+ * y escritura en segundo plano, y cache desactivada. Redis se sustituye por mocks.
+ */
+class ResponseBodyCacheTest {
+
+    private static final byte[] JSON = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] GZIP = {0x1f, (byte) 0x8b, 1, 2, 3};
+
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    private final BulkCacheOperations bulkCacheOperations = mock(BulkCacheOperations.class);
+    private final RedisCircuitBreaker circuitBreaker = mock(RedisCircuitBreaker.class);
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final HotKeyTracker hotKeyTracker = new HotKeyTracker(true, 1024, 10, 1000);
+    private final List<Runnable> scheduledWrites = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        when(circuitBreaker.allowRequest()).thenReturn(true);
+        when(bulkCacheOperations.cacheConfiguration("reservations")).thenReturn(RedisCacheConfiguration.defaultCacheConfig());
+        when(bulkCacheOperations.serializeKey(any(), eq("reservations"), anyString()))
+                .thenAnswer(invocation -> ("reservations::" + invocation.getArgument(2)).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void hitReturnsStoredBytesWithoutLoading() {
+        stubStoredVariants(JSON, GZIP);
+        ResponseBodyCache cache = cache(true);
+        AtomicInteger loads = new AtomicInteger();
+
+        ResponseBodyCache.CachedBody gzip = cache.get("reservations", "byId_1", true, () -> loads.incrementAndGet());
+        assertArrayEquals(GZIP, gzip.body());
+        assertTrue(gzip.gzip());
+
+        ResponseBodyCache.CachedBody plain = cache.get("reservations", "byId_1", false, () -> loads.incrementAndGet());
+        assertArrayEquals(JSON, plain.body());
+        assertFalse(plain.gzip());
+
+        assertEquals(0, loads.get());
+        assertEquals(2.0, meterRegistry.counter("reservations.cache.gets",
+                "cache", "reservations.http", "result", "hit").count());
+    }
+
+    @Test
+    void hitWithoutGzipVariantFallsBackToJson() {
+        stubStoredVariants(JSON, null);
+
+        ResponseBodyCache.CachedBody body = cache(true).get("reservations", "byId_1", true, () -> null);
+
+        assertArrayEquals(JSON, body.body());
+        assertFalse(body.gzip());
+    }
+
+    @Test
+    void missLoadsSerializesAndSchedulesVersionedWrite() throws Exception {
+        stubStoredVariants(null, null);
+        ReservationResponseDTO dto = reservation();
+
+        ResponseBodyCache.CachedBody body = cache(true).get("reservations", "byId_1", true, () -> dto);
+
+        assertArrayEquals(objectMapper.writeValueAsBytes(dto), body.body());
+        assertFalse(body.gzip());
+        assertEquals(1, scheduledWrites.size());
+        assertEquals(1.0, meterRegistry.counter("reservations.cache.gets",
+                "cache", "reservations.http", "result", "miss").count());
+    }
+
+    @Test
+    void valuesWithoutVersionAreNotStored() {
+        stubStoredVariants(null, null);
+        ReservationResponseDTO dto = reservation();
+        dto.setUpdatedAt(null);
+
+        cache(true).get("reservations", "byId_1", false, () -> dto);
+
+        assertTrue(scheduledWrites.isEmpty());
+    }
+
+    @Test
+    void disabledCacheOnlySerializes() throws Exception {
+        ReservationResponseDTO dto = reservation();
+
+        ResponseBodyCache.CachedBody body = cache(false).get("reservations", "byId_1", true, () -> dto);
+
+        assertArrayEquals(objectMapper.writeValueAsBytes(dto), body.body());
+        verifyNoInteractions(redisTemplate);
+        assertTrue(scheduledWrites.isEmpty());
+    }
+
+    @Test
+    void responseHeadersFollowEncoding() {
+        ResponseEntity<byte[]> gzip = new ResponseBodyCache.CachedBody(GZIP, true).toResponse();
+        assertEquals("gzip", gzip.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, gzip.getHeaders().getFirst(HttpHeaders.VARY));
+
+        ResponseEntity<byte[]> plain = new ResponseBodyCache.CachedBody(JSON, false).toResponse();
+        assertNull(plain.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+
+        assertTrue(ResponseBodyCache.acceptsGzip("deflate, GZIP;q=0.8"));
+        assertFalse(ResponseBodyCache.acceptsGzip("br"));
+        assertFalse(ResponseBodyCache.acceptsGzip(null));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubStoredVariants(byte[] json, byte[] gzip) {
+        when(redisTemplate.execute(any(RedisCallback.class))).thenReturn(Arrays.asList(json, gzip));
+    }
+
+    private ResponseBodyCache cache(boolean enabled) {
+        return new ResponseBodyCache(redisTemplate, bulkCacheOperations, circuitBreaker, objectMapper,
+                scheduledWrites::add, meterRegistry, hotKeyTracker, enabled, 512);
+    }
+
+    private static ReservationResponseDTO reservation() {
+        OffsetDateTime now = OffsetDateTime.of(2025, 3, 14, 9, 0, 0, 0, ZoneOffset.UTC);
+        ReservationResponseDTO dto = new ReservationResponseDTO();
+        dto.setId(1L);
+        dto.setOwnerId(2L);
+        dto.setCarerId(3L);
+        dto.setServiceDate(now.plusDays(1));
+        dto.setReservationState(ReservationResponseDTO.ReservationStateEnum.PENDING);
+        dto.setCreatedAt(now);
+        dto.setUpdatedAt(now);
+        dto.setActive(true);
+        return dto;
+    }
+}
@@ -0,0 +1,183 @@
+package com.cuidadodemascotas.microservice.cache;
+
+import com.cuidadodemascotas.microservice.config.RedisCacheConfig;
+import org.example.cuidadodemascota.commons.dto.ReservationResponseDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Escrituras versionadas sobre un Redis simulado: rechazo de una versión anterior, descarte de
+ * la entrada cuando pierde un put de escritura y lápida al desalojar, con y sin delete.
+ */
+class VersionedCacheTest {
+
+    private static final OffsetDateTime UPDATED_AT = OffsetDateTime.of(2025, 3, 14, 9, 0, 0, 0, ZoneOffset.UTC);
+    private static final List<String> KEYS = List.of(
+            "reservations::byId_1", "reservations::byId_1::v", "reservations::byId_1::http");
+
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    private final RedisCache remote = mock(RedisCache.class);
+    private final List<ScriptCall> calls = new ArrayList<>();
+    private long scriptResult;
+
+    private VersionedCache cache;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        when(remote.getName()).thenReturn("reservations");
+        when(remote.getCacheConfiguration()).thenReturn(RedisCacheConfiguration.defaultCacheConfig()
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(RedisCacheConfig.jsonSerializer())));
+        when(redisTemplate.execute(any(RedisScript.class), any(), any(), anyList(), any(Object[].class)))
+                .thenAnswer(invocation -> {
+                    Object[] arguments = invocation.getArguments();
+                    List<String> args = new ArrayList<>();
+                    for (Object arg : Arrays.copyOfRange(arguments, 4, arguments.length)) {
+                        args.add(new String((byte[]) arg, StandardCharsets.UTF_8));
+                    }
+                    calls.add(new ScriptCall(invocation.getArgument(0), invocation.getArgument(3), args));
+                    return scriptResult;
+                });
+
+        VersionedCacheWrites versionedWrites = new VersionedCacheWrites(redisTemplate, Set.of("reservations"), Duration.ofSeconds(10));
+        cache = new VersionedCache(remote, versionedWrites);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clear();
+    }
+
+    @Test
+    void olderVersionIsRejectedWithoutDiscardOnReadPath() {
+        scriptResult = 0L;
+
+        cache.put("byId_1", reservation());
+
+        assertEquals(1, calls.size());
+        ScriptCall put = calls.get(0);
+        assertSame(VersionedCacheWrites.PUT, put.script());
+        assertEquals(KEYS, put.keys());
+        assertEquals(String.valueOf(micros(UPDATED_AT)), put.args().get(1));
+        assertEquals("0", put.args().get(2));
+    }
+
+    @Test
+    void losingWritePathPutDiscardsEntry() {
+        scriptResult = 0L;
+        writeTransaction();
+
+        cache.put("byId_1", reservation());
+
+        assertEquals(2, calls.size());
+        assertSame(VersionedCacheWrites.PUT, calls.get(0).script());
+        assertSame(VersionedCacheWrites.DISCARD, calls.get(1).script());
+        assertEquals(KEYS, calls.get(1).keys());
+    }
+
+    @Test
+    void acceptedWritePathPutKeepsEntry() {
+        scriptResult = 1L;
+        writeTransaction();
+
+        cache.put("byId_1", reservation());
+
+        assertEquals(1, calls.size());
+        assertSame(VersionedCacheWrites.PUT, calls.get(0).script());
+    }
+
+    @Test
+    void evictLeavesTombstoneOverStoredVersion() {
+        scriptResult = 1L;
+
+        assertTrue(cache.evictIfPresent("byId_1"));
+
+        assertEquals(1, calls.size());
+        ScriptCall evict = calls.get(0);
+        assertSame(VersionedCacheWrites.EVICT, evict.script());
+        assertEquals(KEYS, evict.keys());
+        assertEquals(List.of("0", "10000"), evict.args());
+    }
+
+    @Test
+    void evictOfDeletedRowUsesClockTombstone() {
+        scriptResult = 0L;
+        writeTransaction();
+        long before = micros(LocalDateTime.now());
+
+        cache.evict("byId_1");
+
+        long after = micros(LocalDateTime.now());
+        ScriptCall evict = calls.get(0);
+        assertSame(VersionedCacheWrites.EVICT, evict.script());
+        long tombstone = Long.parseLong(evict.args().get(0));
+        assertTrue(tombstone >= before && tombstone <= after, "lápida: " + tombstone);
+    }
+
+    @Test
+    void valuesWithoutVersionUsePlainPut() {
+        List<ReservationResponseDTO> list = List.of(reservation());
+
+        cache.put("byOwner_2", list);
+
+        verify(remote).put("byOwner_2", list);
+        verifyNoInteractions(redisTemplate);
+    }
+
+    private static void writeTransaction() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    private static long micros(OffsetDateTime dateTime) {
+        return micros(dateTime.toLocalDateTime());
+    }
+
+    private static long micros(LocalDateTime dateTime) {
+        return ChronoUnit.MICROS.between(LocalDateTime.of(1970, 1, 1, 0, 0), dateTime);
+    }
+
+    private static ReservationResponseDTO reservation() {
+        ReservationResponseDTO dto = new ReservationResponseDTO();
+        dto.setId(1L);
+        dto.setOwnerId(2L);
+        dto.setCarerId(3L);
+        dto.setServiceDate(UPDATED_AT.plusDays(1));
+        dto.setReservationState(ReservationResponseDTO.ReservationStateEnum.PENDING);
+        dto.setCreatedAt(UPDATED_AT);
+        dto.setUpdatedAt(UPDATED_AT);
+        dto.setActive(true);
+        return dto;
+    }
+
+    private record ScriptCall(RedisScript<?> script, List<String> keys, List<String> args) {
+    }
+}
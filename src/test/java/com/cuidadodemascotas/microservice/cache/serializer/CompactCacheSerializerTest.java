@@ -0,0 +1,157 @@
+package com.cuidadodemascotas.microservice.cache.serializer;
+
+import com.cuidadodemascotas.microservice.cache.CachedIdPage;
+import com.cuidadodemascotas.microservice.config.RedisCacheConfig;
+import org.example.cuidadodemascota.commons.dto.ReservationResponseDTO;
+import org.example.cuidadodemascota.commons.dto.ReservationServiceResponseDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Ida y vuelta de cada tipo cacheado con el formato binario: DTOs completos y vacíos,
+ * listas (vacías y con nulos), páginas de IDs y todos los estados de reserva.
+ */
+class CompactCacheSerializerTest {
+
+    private static final OffsetDateTime NOW = OffsetDateTime.of(2025, 3, 14, 9, 26, 53, 589_793_000, ZoneOffset.of("-03:00"));
+
+    private final RedisSerializer<Object> json = RedisCacheConfig.jsonSerializer();
+    private final CompactCacheSerializer reservations = new CompactCacheSerializer(json, new ReservationResponseCodec());
+    private final CompactCacheSerializer services = new CompactCacheSerializer(json, new ReservationServiceResponseCodec());
+    private final CompactCacheSerializer searches = new CompactCacheSerializer(json, new CachedIdPageCodec());
+
+    @Test
+    void reservationRoundTripsEveryState() {
+        for (ReservationResponseDTO.ReservationStateEnum state : ReservationResponseDTO.ReservationStateEnum.values()) {
+            ReservationResponseDTO dto = reservation(state);
+            assertEquals(dto, roundTrip(reservations, dto));
+        }
+    }
+
+    @Test
+    void reservationRoundTripsWithoutOptionalFields() {
+        ReservationResponseDTO dto = new ReservationResponseDTO();
+        assertEquals(dto, roundTrip(reservations, dto));
+
+        dto.setId(7L);
+        dto.setActive(false);
+        assertEquals(dto, roundTrip(reservations, dto));
+    }
+
+    @Test
+    void reservationServiceRoundTrips() {
+        assertEquals(reservationService(1L), roundTrip(services, reservationService(1L)));
+        assertEquals(new ReservationServiceResponseDTO(), roundTrip(services, new ReservationServiceResponseDTO()));
+    }
+
+    @Test
+    void listsRoundTripIncludingNullsAndEmpty() {
+        List<ReservationServiceResponseDTO> list = new ArrayList<>(List.of(reservationService(1L), reservationService(2L)));
+        list.add(1, null);
+        assertEquals(list, roundTrip(services, list));
+
+        assertEquals(List.of(), roundTrip(services, List.of()));
+        assertEquals(List.of(), roundTrip(services, new ArrayList<>()));
+    }
+
+    @Test
+    void idPagesRoundTrip() {
+        CachedIdPage page = new CachedIdPage(List.of(125_431L, 12L, 999_999_999L, 12L), 4_210L);
+        assertEquals(page, roundTrip(searches, page));
+
+        CachedIdPage empty = new CachedIdPage(List.of(), 0L);
+        assertEquals(empty, roundTrip(searches, empty));
+    }
+
+    @Test
+    void valuesWithoutCodecUseJsonFallback() {
+        assertEquals(42L, ((Number) roundTrip(reservations, 42L)).longValue());
+        assertEquals("texto", roundTrip(reservations, "texto"));
+    }
+
+    @Test
+    void nullsAndLegacyJsonAreRead() {
+        assertNull(reservations.serialize(null));
+        assertNull(reservations.deserialize(null));
+        assertNull(reservations.deserialize(new byte[0]));
+
+        ReservationResponseDTO dto = reservation(ReservationResponseDTO.ReservationStateEnum.PENDING);
+        ReservationResponseDTO legacy = (ReservationResponseDTO) reservations.deserialize(json.serialize(dto));
+        assertEquals(dto.getId(), legacy.getId());
+        assertEquals(dto.getReservationState(), legacy.getReservationState());
+    }
+
+    @Test
+    void corruptEnumIsSerializationException() {
+        byte[] bytes = reservations.serialize(reservation(ReservationResponseDTO.ReservationStateEnum.PENDING));
+        // [versión][tag][máscara][id][owner][carer][serviceDate][estado]...
+        BinaryReader reader = new BinaryReader(bytes, 3);
+        reader.readVarLong();
+        reader.readVarLong();
+        reader.readVarLong();
+        reader.readOffsetDateTime();
+        bytes[reader.position()] = 42;
+
+        assertThrows(SerializationException.class, () -> reservations.deserialize(bytes));
+    }
+
+    @Test
+    void unknownEnumLiteralIsSerializationException() {
+        BinaryWriter writer = new BinaryWriter(16);
+        writer.writeByte(0xFF);
+        writer.writeString("CANCELLED_BY_ALIENS");
+
+        assertThrows(SerializationException.class, () -> EnumCodec.read(
+                new BinaryReader(writer.toByteArray(), 0), ReservationResponseDTO.ReservationStateEnum.class));
+    }
+
+    @Test
+    void truncatedOrUnknownValuesAreSerializationExceptions() {
+        byte[] bytes = services.serialize(reservationService(1L));
+        assertThrows(SerializationException.class,
+                () -> services.deserialize(Arrays.copyOf(bytes, bytes.length - 1)));
+        assertThrows(SerializationException.class,
+                () -> services.deserialize(new byte[]{CompactCacheSerializer.FORMAT_VERSION, 0x55}));
+        assertThrows(SerializationException.class,
+                () -> services.deserialize(new byte[]{(byte) (CompactCacheSerializer.FORMAT_VERSION + 1), 1}));
+    }
+
+    private static Object roundTrip(RedisSerializer<Object> serializer, Object value) {
+        return serializer.deserialize(serializer.serialize(value));
+    }
+
+    private static ReservationResponseDTO reservation(ReservationResponseDTO.ReservationStateEnum state) {
+        ReservationResponseDTO dto = new ReservationResponseDTO();
+        dto.setId(125_431L);
+        dto.setOwnerId(8_812L);
+        dto.setCarerId(1_204L);
+        dto.setServiceDate(NOW.plusDays(3));
+        dto.setReservationState(state);
+        dto.setCreatedAt(NOW);
+        dto.setUpdatedAt(NOW.plusMinutes(5));
+        dto.setActive(true);
+        return dto;
+    }
+
+    private static ReservationServiceResponseDTO reservationService(Long id) {
+        ReservationServiceResponseDTO dto = new ReservationServiceResponseDTO();
+        dto.setId(40_000L + id);
+        dto.setReservationId(125_431L);
+        dto.setServiceId(300L + id);
+        dto.setCreatedAt(NOW);
+        dto.setUpdatedAt(NOW);
+        dto.setActive(true);
+        return dto;
+    }
+}
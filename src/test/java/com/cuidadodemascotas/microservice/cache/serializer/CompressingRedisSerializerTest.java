@@ -0,0 +1,136 @@
+package com.cuidadodemascotas.microservice.cache.serializer;
+
+import com.cuidadodemascotas.microservice.config.RedisCacheConfig;
+import org.example.cuidadodemascota.commons.dto.ReservationServiceResponseDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Formato comprimido: marcador, umbral de compresión y convivencia con valores sin comprimir
+ * (incluidos los escritos antes de activar la compresión).
+ */
+class CompressingRedisSerializerTest {
+
+    private static final int THRESHOLD = 100;
+
+    private final CompressingRedisSerializer serializer = new CompressingRedisSerializer(new BytesSerializer(), THRESHOLD);
+
+    @Test
+    void valuesBelowThresholdAreStoredAsIs() {
+        byte[] raw = repeated(THRESHOLD - 1);
+        assertArrayEquals(raw, serializer.serialize(raw));
+        assertArrayEquals(raw, (byte[]) serializer.deserialize(raw));
+    }
+
+    @Test
+    void valuesAtThresholdAreCompressedBehindMarker() {
+        byte[] raw = repeated(THRESHOLD);
+        byte[] stored = serializer.serialize(raw);
+
+        assertEquals(CompressingRedisSerializer.MARKER, stored[0] & 0xFF);
+        assertTrue(stored.length < raw.length, "comprimido: " + stored.length + " bytes");
+        assertArrayEquals(raw, (byte[]) serializer.deserialize(stored));
+    }
+
+    @Test
+    void incompressibleValuesAreStoredAsIs() {
+        byte[] raw = new byte[4 * THRESHOLD];
+        new Random(42).nextBytes(raw);
+        raw[0] = '{';
+
+        byte[] stored = serializer.serialize(raw);
+        assertArrayEquals(raw, stored);
+        assertArrayEquals(raw, (byte[]) serializer.deserialize(stored));
+    }
+
+    @Test
+    void uncompressedLegacyPayloadsAreRead() {
+        RedisSerializer<Object> json = RedisCacheConfig.jsonSerializer();
+        CompactCacheSerializer compact = new CompactCacheSerializer(json, new ReservationServiceResponseCodec());
+        CompressingRedisSerializer compressing = new CompressingRedisSerializer(compact, THRESHOLD);
+
+        List<ReservationServiceResponseDTO> services = new ArrayList<>();
+        for (long i = 1; i <= 20; i++) {
+            services.add(reservationService(i));
+        }
+
+        // Valor binario sin comprimir y valor JSON anterior al formato binario
+        byte[] uncompressed = compact.serialize(services);
+        assertNotEquals(CompressingRedisSerializer.MARKER, uncompressed[0] & 0xFF);
+        assertEquals(services, compressing.deserialize(uncompressed));
+
+        ReservationServiceResponseDTO single = reservationService(1L);
+        ReservationServiceResponseDTO legacy = (ReservationServiceResponseDTO) compressing.deserialize(json.serialize(single));
+        assertEquals(single.getId(), legacy.getId());
+
+        byte[] stored = compressing.serialize(services);
+        assertEquals(CompressingRedisSerializer.MARKER, stored[0] & 0xFF);
+        assertEquals(services, compressing.deserialize(stored));
+    }
+
+    @Test
+    void nullsPassThrough() {
+        assertNull(serializer.serialize(null));
+        assertNull(serializer.deserialize(null));
+    }
+
+    @Test
+    void corruptOrTruncatedValuesAreSerializationExceptions() {
+        byte[] stored = serializer.serialize(repeated(10 * THRESHOLD));
+        assertThrows(SerializationException.class,
+                () -> serializer.deserialize(Arrays.copyOf(stored, stored.length / 2)));
+
+        byte[] corrupt = stored.clone();
+        Arrays.fill(corrupt, 3, corrupt.length, (byte) 0xFF);
+        assertThrows(SerializationException.class, () -> serializer.deserialize(corrupt));
+    }
+
+    private static byte[] repeated(int length) {
+        byte[] bytes = new byte[length];
+        Arrays.fill(bytes, (byte) 'a');
+        return bytes;
+    }
+
+    private static ReservationServiceResponseDTO reservationService(Long id) {
+        OffsetDateTime now = OffsetDateTime.of(2025, 3, 14, 9, 0, 0, 0, ZoneOffset.of("-03:00"));
+        ReservationServiceResponseDTO dto = new ReservationServiceResponseDTO();
+        dto.setId(40_000L + id);
+        dto.setReservationId(125_431L);
+        dto.setServiceId(300L + id);
+        dto.setCreatedAt(now);
+        dto.setUpdatedAt(now);
+        dto.setActive(true);
+        return dto;
+    }
+
+    /**
+     * Delegado identidad: el test controla exactamente los bytes que se comprimen
+     */
+    private static final class BytesSerializer implements RedisSerializer<Object> {
+
+        @Override
+        public byte[] serialize(Object value) {
+            return (byte[]) value;
+        }
+
+        @Override
+        public Object deserialize(byte[] bytes) {
+            return bytes;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.cuidadodemascotas.microservice.repository;
+
+import com.cuidadodemascotas.microservice.repository.projection.ReservationRow;
+import com.cuidadodemascotas.microservice.repository.projection.ReservationServiceRow;
+import com.cuidadodemascotas.microservice.repository.query.JpqlQueryBuilder;
+import org.example.cuidadodemascota.commons.entities.enums.ReservationStateEnum;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Verifica la consulta generada para cada combinación de filtros: solo aparecen los predicados
+ * presentes, sin guardas IS NULL, y cada forma reutiliza siempre el mismo texto.
+ */
+class FilterQueryShapesTest {
+
+    private static final String RESERVATION_ROW = "SELECT new " + ReservationRow.class.getName()
+            + "(r.id, r.owner.id, r.carer.id, r.serviceDate, r.state, r.createdAt, r.updatedAt, r.active)"
+            + " FROM Reservation r";
+    private static final String RESERVATION_SERVICE_ROW = "SELECT new " + ReservationServiceRow.class.getName()
+            + "(rs.id, rs.reservation.id, rs.service.id, rs.createdAt, rs.updatedAt, rs.active)"
+            + " FROM ReservationService rs";
+
+    private static final String[] RESERVATION_PREDICATES = {
+            "r.owner.id = :ownerId",
+            "r.carer.id = :carerId",
+            "r.state = :state",
+            "r.serviceDate >= :startDate",
+            "r.serviceDate <= :endDate"
+    };
+    private static final String[] RESERVATION_PARAMETERS = {"ownerId", "carerId", "state", "startDate", "endDate"};
+    private static final String KEYSET_PREDICATE =
+            "(r.serviceDate < :afterDate OR (r.serviceDate = :afterDate AND r.id < :afterId))";
+
+    @Test
+    void reservationQueriesContainOnlyPresentFilters() {
+        for (int mask = 0; mask < 1 << RESERVATION_PREDICATES.length; mask++) {
+            Long ownerId = present(mask, 0) ? 1L : null;
+            Long carerId = present(mask, 1) ? 2L : null;
+            ReservationStateEnum state = present(mask, 2) ? ReservationStateEnum.PENDING : null;
+            LocalDateTime startDate = present(mask, 3) ? LocalDateTime.of(2025, 1, 1, 0, 0) : null;
+            LocalDateTime endDate = present(mask, 4) ? LocalDateTime.of(2025, 12, 31, 0, 0) : null;
+
+            List<String> predicates = new ArrayList<>(List.of("r.active = true"));
+            Set<String> parameters = new HashSet<>();
+            for (int i = 0; i < RESERVATION_PREDICATES.length; i++) {
+                if (present(mask, i)) {
+                    predicates.add(RESERVATION_PREDICATES[i]);
+                    parameters.add(RESERVATION_PARAMETERS[i]);
+                }
+            }
+            String where = " WHERE " + String.join(" AND ", predicates);
+
+            JpqlQueryBuilder.Query rows = ReservationFilterRepositoryImpl.rowsQuery(
+                    ownerId, carerId, state, startDate, endDate);
+            assertQuery(RESERVATION_ROW + where + " ORDER BY r.serviceDate DESC", parameters, rows);
+
+            JpqlQueryBuilder.Query count = ReservationFilterRepositoryImpl.countQuery(
+                    ownerId, carerId, state, startDate, endDate);
+            assertQuery("SELECT COUNT(r) FROM Reservation r" + where, parameters, count);
+
+            JpqlQueryBuilder.Query firstPage = ReservationFilterRepositoryImpl.rowsAfterQuery(
+                    ownerId, carerId, state, startDate, endDate, null, null);
+            assertQuery(RESERVATION_ROW + where + " ORDER BY r.serviceDate DESC, r.id DESC", parameters, firstPage);
+
+            Set<String> keysetParameters = new HashSet<>(parameters);
+            keysetParameters.add("afterDate");
+            keysetParameters.add("afterId");
+            JpqlQueryBuilder.Query nextPage = ReservationFilterRepositoryImpl.rowsAfterQuery(
+                    ownerId, carerId, state, startDate, endDate, LocalDateTime.of(2025, 6, 1, 0, 0), 10L);
+            assertQuery(RESERVATION_ROW + where + " AND " + KEYSET_PREDICATE + " ORDER BY r.serviceDate DESC, r.id DESC",
+                    keysetParameters, nextPage);
+
+            // Misma forma, mismo texto: una única entrada en las caches de planes
+            assertEquals(rows.jpql(), ReservationFilterRepositoryImpl.rowsQuery(
+                    ownerId, carerId, state, startDate, endDate).jpql());
+        }
+    }
+
+    @Test
+    void reservationServiceQueriesContainOnlyPresentFilters() {
+        for (int mask = 0; mask < 4; mask++) {
+            Long reservationId = present(mask, 0) ? 1L : null;
+            Long serviceId = present(mask, 1) ? 2L : null;
+
+            List<String> predicates = new ArrayList<>(List.of("rs.active = true"));
+            Set<String> parameters = new HashSet<>();
+            if (reservationId != null) {
+                predicates.add("rs.reservation.id = :reservationId");
+                parameters.add("reservationId");
+            }
+            if (serviceId != null) {
+                predicates.add("rs.service.id = :serviceId");
+                parameters.add("serviceId");
+            }
+            String where = " WHERE " + String.join(" AND ", predicates);
+
+            assertQuery(RESERVATION_SERVICE_ROW + where + " ORDER BY rs.createdAt DESC", parameters,
+                    ReservationServiceFilterRepositoryImpl.rowsQuery(reservationId, serviceId));
+            assertQuery("SELECT COUNT(rs) FROM ReservationService rs" + where, parameters,
+                    ReservationServiceFilterRepositoryImpl.countQuery(reservationId, serviceId));
+        }
+    }
+
+    private static void assertQuery(String expectedJpql, Set<String> expectedParameters, JpqlQueryBuilder.Query query) {
+        assertEquals(expectedJpql, query.jpql());
+        assertEquals(expectedParameters, query.parameters().keySet());
+        assertFalse(query.jpql().contains("IS NULL"), query.jpql());
+        for (Map.Entry<String, Object> parameter : query.parameters().entrySet()) {
+            assertNotNull(parameter.getValue(), parameter.getKey());
+        }
+    }
+
+    private static boolean present(int mask, int bit) {
+        return (mask & 1 << bit) != 0;
+    }
+}